@@ -0,0 +1,96 @@
+package com.bluelotuscoding.eidolonunchained.bench;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import net.minecraft.SharedConstants;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.Bootstrap;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Builds synthetic datapack content for the benchmarks, shaped like the files in the example datapack
+ */
+public final class SyntheticData {
+    public static final String[] PAGE_TYPES = {"text", "title", "entity", "crafting", "ritual", "crucible"};
+
+    private static final String[] CHAPTERS = {"void_amulet", "arcane_gold", "crystal_ritual", "wooden_stand", "summon_ritual"};
+
+    private static boolean bootstrapped;
+
+    private SyntheticData() {}
+
+    /**
+     * Initializes the vanilla registries once, so items and entity types can be looked up.
+     * This is the same bootstrap the data generators use; no client or world is started.
+     */
+    public static synchronized void bootstrap() {
+        if (!bootstrapped) {
+            SharedConstants.tryDetectVersion();
+            Bootstrap.bootStrap();
+            bootstrapped = true;
+        }
+    }
+
+    /**
+     * Codex entry files keyed by id, as SimpleJsonResourceReloadListener would hand them over.
+     * Every entry has one page of each type.
+     */
+    public static Map<ResourceLocation, JsonElement> codexEntries(int count) {
+        Map<ResourceLocation, JsonElement> files = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            JsonObject json = new JsonObject();
+            json.addProperty("target_chapter", CHAPTERS[i % CHAPTERS.length].toUpperCase());
+            json.addProperty("title", "eidolonunchained.codex.entry.bench_" + i + ".title");
+            JsonArray pages = new JsonArray();
+            for (String type : PAGE_TYPES) {
+                pages.add(page(type, i));
+            }
+            json.add("pages", pages);
+            files.put(new ResourceLocation("eidolonunchained", "bench/entry_" + i), json);
+        }
+        return files;
+    }
+
+    /**
+     * Research files keyed by id, one chapter per ten entries
+     */
+    public static Map<ResourceLocation, JsonElement> researchFiles(int count) {
+        Map<ResourceLocation, JsonElement> files = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            boolean chapter = i % 10 == 0;
+            String folder = chapter ? "research_chapters/" : "research_entries/";
+            JsonObject json = new JsonObject();
+            json.addProperty("id", "eidolonunchained:bench_" + i);
+            json.addProperty("title", "eidolonunchained.research.bench_" + i);
+            if (!chapter) {
+                json.addProperty("chapter", "eidolonunchained:bench_" + (i / 10 * 10));
+                JsonArray prerequisites = new JsonArray();
+                if (i % 10 > 1) {
+                    prerequisites.add("eidolonunchained:bench_" + (i - 1));
+                }
+                json.add("prerequisites", prerequisites);
+            }
+            files.put(new ResourceLocation("eidolonunchained", folder + "bench_" + i), json);
+        }
+        return files;
+    }
+
+    /**
+     * A page of the given type pointing at vanilla content, so lookups succeed after {@link #bootstrap()}
+     */
+    public static JsonObject page(String type, int index) {
+        JsonObject page = new JsonObject();
+        page.addProperty("type", type);
+        switch (type) {
+            case "entity" -> page.addProperty("entity", "minecraft:zombie");
+            case "crafting" -> page.addProperty("item", "minecraft:gold_ingot");
+            case "ritual" -> page.addProperty("ritual", "eidolon:crystal_ritual");
+            case "crucible" -> page.addProperty("recipe", "eidolon:arcane_gold_ingot_alchemy");
+            default -> page.addProperty("text", "eidolonunchained.codex.entry.bench_" + index + ".page_" + type);
+        }
+        return page;
+    }
+}
@@ -0,0 +1,73 @@
+package com.bluelotuscoding.eidolonunchained.data;
+
+import com.bluelotuscoding.eidolonunchained.bench.SyntheticData;
+import com.google.common.hash.Hashing;
+import com.google.gson.JsonElement;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraft.util.profiling.InactiveProfiler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of compiling and publishing a codex reload: a cold load where every file is new, and a reload where nothing changed
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CodexDataManagerBenchmark {
+
+    @Param({"100", "1000", "10000", "50000"})
+    public int entryCount;
+
+    private CodexDataManager.CodexFiles prepared;
+    private CodexDataManager.CodexFiles unchanged;
+    private CodexDataManager warmManager;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SyntheticData.bootstrap();
+        Map<ResourceLocation, JsonElement> files = SyntheticData.codexEntries(entryCount);
+        List<CodexDataManager.PreparedFile> parsed = new ArrayList<>(files.size());
+        List<CodexDataManager.PreparedFile> hashesOnly = new ArrayList<>(files.size());
+        files.forEach((location, json) -> {
+            byte[] bytes = json.toString().getBytes(StandardCharsets.UTF_8);
+            var hash = Hashing.murmur3_128().hashBytes(bytes);
+            var path = new ResourceLocation(location.getNamespace(), "codex_entries/" + location.getPath() + ".json");
+            parsed.add(new CodexDataManager.PreparedFile(path, hash, bytes));
+            hashesOnly.add(new CodexDataManager.PreparedFile(path, hash, null));
+        });
+        var fingerprint = Hashing.murmur3_128().hashInt(entryCount);
+        prepared = new CodexDataManager.CodexFiles(parsed, fingerprint, null);
+        unchanged = new CodexDataManager.CodexFiles(hashesOnly, fingerprint, null);
+
+        warmManager = new CodexDataManager();
+        warmManager.apply(warmManager.compile(prepared), ResourceManager.Empty.INSTANCE, InactiveProfiler.INSTANCE);
+    }
+
+    @Benchmark
+    public CodexSnapshot coldApply() {
+        CodexDataManager manager = new CodexDataManager();
+        manager.apply(manager.compile(prepared), ResourceManager.Empty.INSTANCE, InactiveProfiler.INSTANCE);
+        return CodexDataManager.getSnapshot();
+    }
+
+    @Benchmark
+    public CodexSnapshot unchangedReload() {
+        warmManager.apply(warmManager.compile(unchanged), ResourceManager.Empty.INSTANCE, InactiveProfiler.INSTANCE);
+        return CodexDataManager.getSnapshot();
+    }
+}
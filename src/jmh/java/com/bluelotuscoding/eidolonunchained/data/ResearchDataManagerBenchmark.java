@@ -0,0 +1,47 @@
+package com.bluelotuscoding.eidolonunchained.data;
+
+import com.bluelotuscoding.eidolonunchained.bench.SyntheticData;
+import com.google.gson.JsonElement;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraft.util.profiling.InactiveProfiler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of compiling and publishing a research reload
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ResearchDataManagerBenchmark {
+
+    @Param({"100", "1000", "10000", "50000"})
+    public int entryCount;
+
+    private Map<ResourceLocation, JsonElement> files;
+    private ResearchDataManager manager;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SyntheticData.bootstrap();
+        files = SyntheticData.researchFiles(entryCount);
+        manager = new ResearchDataManager();
+    }
+
+    @Benchmark
+    public ResearchSnapshot apply() {
+        manager.apply(manager.compile(files), ResourceManager.Empty.INSTANCE, InactiveProfiler.INSTANCE);
+        return ResearchDataManager.getSnapshot();
+    }
+}
@@ -0,0 +1,42 @@
+package com.bluelotuscoding.eidolonunchained.integration;
+
+import com.bluelotuscoding.eidolonunchained.bench.SyntheticData;
+import com.bluelotuscoding.eidolonunchained.codex.CodexPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of converting one datapack page to a (stub) Eidolon page, per page type
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PageConversionBenchmark {
+
+    @Param({"text", "title", "entity", "crafting", "ritual", "crucible"})
+    public String pageType;
+
+    private CodexPage page;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SyntheticData.bootstrap();
+        page = CodexPage.fromJson(SyntheticData.page(pageType, 0));
+        // Resolve the constructor handles outside the measurement
+        EidolonPageConverter.convertPage(page);
+    }
+
+    @Benchmark
+    public Object convertPage() {
+        return EidolonPageConverter.convertPage(page);
+    }
+}
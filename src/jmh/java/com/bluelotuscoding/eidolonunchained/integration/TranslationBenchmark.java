@@ -0,0 +1,41 @@
+package com.bluelotuscoding.eidolonunchained.integration;
+
+import com.bluelotuscoding.eidolonunchained.bench.SyntheticData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of resolving page text: a key in our lang file, a key that isn't, and plain text
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TranslationBenchmark {
+
+    @Param({
+        "eidolonunchained.codex.entry.advanced_monsters.title",
+        "eidolonunchained.codex.entry.missing_entry.some_page",
+        "Plain page text that is not a translation key."
+    })
+    public String text;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SyntheticData.bootstrap();
+        EidolonPageConverter.initialize();
+    }
+
+    @Benchmark
+    public String translateText() {
+        return EidolonPageConverter.translateText(text);
+    }
+}
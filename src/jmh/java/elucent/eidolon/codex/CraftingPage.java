@@ -0,0 +1,12 @@
+package elucent.eidolon.codex;
+
+import net.minecraft.world.item.ItemStack;
+
+/**
+ * Benchmark stub with the same public constructor as Eidolon's CraftingPage
+ */
+public class CraftingPage extends Page {
+    public CraftingPage(ItemStack content) {
+        super(content);
+    }
+}
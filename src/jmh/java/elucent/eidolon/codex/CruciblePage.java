@@ -0,0 +1,12 @@
+package elucent.eidolon.codex;
+
+import net.minecraft.resources.ResourceLocation;
+
+/**
+ * Benchmark stub with the same public constructor as Eidolon's CruciblePage
+ */
+public class CruciblePage extends Page {
+    public CruciblePage(ResourceLocation content) {
+        super(content);
+    }
+}
@@ -0,0 +1,12 @@
+package elucent.eidolon.codex;
+
+import net.minecraft.world.entity.EntityType;
+
+/**
+ * Benchmark stub with the same public constructor as Eidolon's EntityPage
+ */
+public class EntityPage extends Page {
+    public EntityPage(EntityType<?> content) {
+        super(content);
+    }
+}
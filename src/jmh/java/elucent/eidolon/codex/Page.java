@@ -0,0 +1,17 @@
+package elucent.eidolon.codex;
+
+/**
+ * Benchmark stand-in for Eidolon's Page. The real pages pull in rendering code, so the benchmark
+ * classpath replaces Eidolon with these stubs that only keep their constructor argument.
+ */
+public abstract class Page {
+    private final Object content;
+
+    protected Page(Object content) {
+        this.content = content;
+    }
+
+    public Object getContent() {
+        return content;
+    }
+}
@@ -0,0 +1,12 @@
+package elucent.eidolon.codex;
+
+import net.minecraft.resources.ResourceLocation;
+
+/**
+ * Benchmark stub with the same public constructor as Eidolon's RitualPage
+ */
+public class RitualPage extends Page {
+    public RitualPage(ResourceLocation content) {
+        super(content);
+    }
+}
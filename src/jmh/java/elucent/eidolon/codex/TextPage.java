@@ -0,0 +1,10 @@
+package elucent.eidolon.codex;
+
+/**
+ * Benchmark stub with the same public constructor as Eidolon's TextPage
+ */
+public class TextPage extends Page {
+    public TextPage(String content) {
+        super(content);
+    }
+}
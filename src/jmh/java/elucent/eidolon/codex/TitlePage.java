@@ -0,0 +1,10 @@
+package elucent.eidolon.codex;
+
+/**
+ * Benchmark stub with the same public constructor as Eidolon's TitlePage
+ */
+public class TitlePage extends Page {
+    public TitlePage(String content) {
+        super(content);
+    }
+}
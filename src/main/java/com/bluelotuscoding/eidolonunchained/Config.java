@@ -12,22 +12,40 @@ public class Config
     private static final ForgeConfigSpec.Builder BUILDER = new ForgeConfigSpec.Builder();
 
     private static final ForgeConfigSpec.BooleanValue ENABLE_DEBUG_MODE = BUILDER
-            .comment("Enable debug mode for Eidolon Unchained")
+            .comment("Enable debug mode for Eidolon Unchained, which also logs every loaded codex file, entry and page conversion")
             .define("enableDebugMode", false);
 
     private static final ForgeConfigSpec.IntValue RITUAL_POWER_MULTIPLIER = BUILDER
             .comment("Multiplier for ritual power calculations")
             .defineInRange("ritualPowerMultiplier", 1, 1, 10);
 
+    private static final ForgeConfigSpec.BooleanValue LAZY_CODEX_PAGES = BUILDER
+            .comment("Build datapack codex pages the first time they are shown instead of when the codex is loaded")
+            .define("lazyCodexPages", true);
+
+    private static final ForgeConfigSpec.BooleanValue CODEX_BINARY_CACHE = BUILDER
+            .comment("Keep a binary cache of parsed codex entries so unchanged datapacks load without parsing JSON")
+            .define("codexBinaryCache", false);
+
+    private static final ForgeConfigSpec.BooleanValue WRITE_RELOAD_STATS = BUILDER
+            .comment("Write datapack reload timings and counters to logs/eidolonunchained_stats.json after every reload")
+            .define("writeReloadStats", false);
+
     static final ForgeConfigSpec SPEC = BUILDER.build();
 
     public static boolean enableDebugMode;
     public static int ritualPowerMultiplier;
+    public static boolean lazyCodexPages = true;
+    public static boolean codexBinaryCache;
+    public static boolean writeReloadStats;
 
     @SubscribeEvent
     static void onLoad(final ModConfigEvent event)
     {
         enableDebugMode = ENABLE_DEBUG_MODE.get();
         ritualPowerMultiplier = RITUAL_POWER_MULTIPLIER.get();
+        lazyCodexPages = LAZY_CODEX_PAGES.get();
+        codexBinaryCache = CODEX_BINARY_CACHE.get();
+        writeReloadStats = WRITE_RELOAD_STATS.get();
     }
 }
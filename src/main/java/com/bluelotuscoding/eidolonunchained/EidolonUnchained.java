@@ -3,6 +3,7 @@ package com.bluelotuscoding.eidolonunchained;
 import com.bluelotuscoding.eidolonunchained.data.CodexDataManager;
 import com.bluelotuscoding.eidolonunchained.data.ResearchDataManager;
 import com.bluelotuscoding.eidolonunchained.integration.ModIntegration;
+import com.bluelotuscoding.eidolonunchained.network.EidolonUnchainedNetwork;
 import com.mojang.logging.LogUtils;
 import net.minecraft.core.registries.Registries;
 import net.minecraft.world.item.CreativeModeTab;
@@ -68,6 +69,9 @@ public class EidolonUnchained
         CodexDataManager.init();
         ResearchDataManager.init();
         
+        // Register packets for syncing datapack content to clients
+        event.enqueueWork(EidolonUnchainedNetwork::register);
+        
         // Initialize mod integrations
         ModIntegration.init();
     }
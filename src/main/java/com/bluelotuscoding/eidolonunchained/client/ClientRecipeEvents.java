@@ -0,0 +1,27 @@
+package com.bluelotuscoding.eidolonunchained.client;
+
+import com.bluelotuscoding.eidolonunchained.EidolonUnchained;
+import com.bluelotuscoding.eidolonunchained.data.RecipeIndex;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientPacketListener;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.client.event.RecipesUpdatedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+/**
+ * Rebuilds the {@link RecipeIndex} from the recipes the server syncs to the client.
+ * Kept apart from the index so that class never references client types.
+ */
+@Mod.EventBusSubscriber(modid = EidolonUnchained.MODID, bus = Mod.EventBusSubscriber.Bus.FORGE, value = Dist.CLIENT)
+public final class ClientRecipeEvents {
+    private ClientRecipeEvents() {}
+
+    @SubscribeEvent
+    public static void onRecipesUpdated(RecipesUpdatedEvent event) {
+        ClientPacketListener connection = Minecraft.getInstance().getConnection();
+        if (connection != null) {
+            RecipeIndex.rebuild(event.getRecipeManager(), connection.registryAccess());
+        }
+    }
+}
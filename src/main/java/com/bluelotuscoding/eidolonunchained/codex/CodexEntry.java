@@ -6,6 +6,7 @@ import net.minecraft.resources.ResourceLocation;
 import net.minecraft.network.chat.Component;
 import net.minecraft.world.item.ItemStack;
 
+import java.util.Comparator;
 import java.util.List;
 import java.util.ArrayList;
 
@@ -14,15 +15,31 @@ import java.util.ArrayList;
  * This allows for easy extension of the existing codex system via datapacks.
  */
 public class CodexEntry {
+    /**
+     * Anchor of entries that go after all of the chapter's own pages
+     */
+    public static final int ANCHOR_END = -1;
+    
+    /**
+     * Order of entries within a chapter: by anchor page (end last), then sort order, then id.
+     * Doesn't depend on load order, so every server and reload lays a chapter out the same way.
+     */
+    public static final Comparator<CodexEntry> PLACEMENT_ORDER = Comparator
+            .comparingInt((CodexEntry entry) -> entry.anchorPage == ANCHOR_END ? Integer.MAX_VALUE : entry.anchorPage)
+            .thenComparingInt(CodexEntry::getSortOrder)
+            .thenComparing(CodexEntry::getId);
+    
     private final ResourceLocation id;
     private final Component title;
     private final Component description;
     private final ResourceLocation targetChapter; // Which existing chapter to add this to
     private final ItemStack icon;
     private final List<ResourceLocation> prerequisites;
-    private final List<JsonObject> pages;
+    private final List<CodexPage> pages;
     private final EntryType type;
     private final JsonObject additionalData;
+    private final int sortOrder;
+    private final int anchorPage;
 
     public enum EntryType {
         TEXT("text"),
@@ -48,37 +65,73 @@ public class CodexEntry {
 
     public CodexEntry(ResourceLocation id, Component title, Component description,
                      ResourceLocation targetChapter, ItemStack icon, List<ResourceLocation> prerequisites,
-                     List<JsonObject> pages, EntryType type, JsonObject additionalData) {
+                     List<CodexPage> pages, EntryType type, JsonObject additionalData) {
+        this(id, title, description, targetChapter, icon, prerequisites, pages, type, additionalData, 0, ANCHOR_END);
+    }
+
+    /**
+     * @param sortOrder  position among entries with the same anchor, lowest first
+     * @param anchorPage index of the chapter's own page to insert before, or {@link #ANCHOR_END}
+     */
+    public CodexEntry(ResourceLocation id, Component title, Component description,
+                     ResourceLocation targetChapter, ItemStack icon, List<ResourceLocation> prerequisites,
+                     List<CodexPage> pages, EntryType type, JsonObject additionalData, int sortOrder, int anchorPage) {
         this.id = id;
         this.title = title;
         this.description = description;
         this.targetChapter = targetChapter;
         this.icon = icon;
         this.prerequisites = prerequisites != null ? prerequisites : new ArrayList<>();
-        this.pages = pages != null ? pages : new ArrayList<>();
+        this.pages = pages != null ? List.copyOf(pages) : List.of();
         this.type = type;
         this.additionalData = additionalData != null ? additionalData : new JsonObject();
+        this.sortOrder = sortOrder;
+        this.anchorPage = anchorPage;
     }
     
     /**
      * Simple constructor for datapack entries
      */
     public static CodexEntry fromDatapack(ResourceLocation id, String title, JsonArray pagesArray) {
-        List<JsonObject> pages = new ArrayList<>();
+        List<CodexPage> pages = new ArrayList<>(pagesArray.size());
         for (int i = 0; i < pagesArray.size(); i++) {
-            pages.add(pagesArray.get(i).getAsJsonObject());
+            pages.add(CodexPage.fromJson(pagesArray.get(i).getAsJsonObject()));
         }
-        
+        return fromDatapack(id, title, pages);
+    }
+    
+    /**
+     * Simple constructor for datapack entries whose pages are already parsed
+     */
+    public static CodexEntry fromDatapack(ResourceLocation id, String title, List<CodexPage> pages) {
+        return fromDatapack(id, title, pages, List.of());
+    }
+    
+    /**
+     * Simple constructor for datapack entries that list prerequisites
+     */
+    public static CodexEntry fromDatapack(ResourceLocation id, String title, List<CodexPage> pages,
+                                          List<ResourceLocation> prerequisites) {
+        return fromDatapack(id, title, pages, prerequisites, 0, ANCHOR_END);
+    }
+    
+    /**
+     * Simple constructor for datapack entries that choose where they go in their chapter
+     */
+    public static CodexEntry fromDatapack(ResourceLocation id, String title, List<CodexPage> pages,
+                                          List<ResourceLocation> prerequisites, int sortOrder, int anchorPage) {
         return new CodexEntry(
             id,
             Component.literal(title),
             Component.literal(""), // No description for simple entries
             null, // Target chapter handled separately
             ItemStack.EMPTY, // No icon
-            new ArrayList<>(), // No prerequisites
+            new ArrayList<>(prerequisites),
             pages,
             EntryType.TEXT, // Default type
-            new JsonObject() // No additional data
+            new JsonObject(), // No additional data
+            sortOrder,
+            anchorPage
         );
     }
 
@@ -89,9 +142,11 @@ public class CodexEntry {
     public ResourceLocation getTargetChapter() { return targetChapter; }
     public ItemStack getIcon() { return icon; }
     public List<ResourceLocation> getPrerequisites() { return prerequisites; }
-    public List<JsonObject> getPages() { return pages; }
+    public List<CodexPage> getPages() { return pages; }
     public EntryType getType() { return type; }
     public JsonObject getAdditionalData() { return additionalData; }
+    public int getSortOrder() { return sortOrder; }
+    public int getAnchorPage() { return anchorPage; }
 
     /**
      * Converts this codex entry to JSON format for datapack generation
@@ -123,10 +178,18 @@ public class CodexEntry {
             json.add("prerequisites", prereqArray);
         }
 
+        // Placement
+        if (sortOrder != 0) {
+            json.addProperty("sort_order", sortOrder);
+        }
+        if (anchorPage != ANCHOR_END) {
+            json.addProperty("anchor_page", anchorPage);
+        }
+
         // Pages
         if (!pages.isEmpty()) {
             JsonArray pagesArray = new JsonArray();
-            pages.forEach(pagesArray::add);
+            pages.forEach(page -> pagesArray.add(page.toJson()));
             json.add("pages", pagesArray);
         }
 
@@ -148,9 +211,11 @@ public class CodexEntry {
         private ResourceLocation targetChapter;
         private ItemStack icon;
         private List<ResourceLocation> prerequisites = new ArrayList<>();
-        private List<JsonObject> pages = new ArrayList<>();
+        private List<CodexPage> pages = new ArrayList<>();
         private EntryType type = EntryType.TEXT;
         private JsonObject additionalData = new JsonObject();
+        private int sortOrder;
+        private int anchorPage = ANCHOR_END;
 
         public Builder(ResourceLocation id) {
             this.id = id;
@@ -181,16 +246,30 @@ public class CodexEntry {
             return this;
         }
 
-        public Builder page(JsonObject page) {
+        public Builder page(CodexPage page) {
             this.pages.add(page);
             return this;
         }
 
+        public Builder page(JsonObject page) {
+            return page(CodexPage.fromJson(page));
+        }
+
         public Builder type(EntryType type) {
             this.type = type;
             return this;
         }
 
+        public Builder sortOrder(int sortOrder) {
+            this.sortOrder = sortOrder;
+            return this;
+        }
+
+        public Builder anchorPage(int anchorPage) {
+            this.anchorPage = anchorPage;
+            return this;
+        }
+
         public Builder additionalData(String key, String value) {
             this.additionalData.addProperty(key, value);
             return this;
@@ -198,7 +277,7 @@ public class CodexEntry {
 
         public CodexEntry build() {
             return new CodexEntry(id, title, description, targetChapter, icon, 
-                                prerequisites, pages, type, additionalData);
+                                prerequisites, pages, type, additionalData, sortOrder, anchorPage);
         }
     }
 }
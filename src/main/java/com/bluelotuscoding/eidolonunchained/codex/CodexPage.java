@@ -0,0 +1,286 @@
+package com.bluelotuscoding.eidolonunchained.codex;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import net.minecraft.resources.ResourceLocation;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A single codex page, parsed from JSON once at load time.
+ * The built-in page types keep only the values they need; page types added by other mods through
+ * {@link com.bluelotuscoding.eidolonunchained.integration.PageFactoryRegistry} keep their JSON as a {@link Custom} page.
+ */
+public sealed interface CodexPage
+        permits CodexPage.Text, CodexPage.Title, CodexPage.Entity, CodexPage.Crafting,
+                CodexPage.Ritual, CodexPage.Crucible, CodexPage.Custom {
+
+    /**
+     * The JSON "type" this page was read from, lower case
+     */
+    String type();
+
+    /**
+     * The page's "text" value, shown when the page can't be built; null if the page has none
+     */
+    String text();
+
+    /**
+     * Converts the page back to its JSON definition
+     */
+    JsonObject toJson();
+
+    record Text(String text) implements CodexPage {
+        @Override
+        public String type() { return "text"; }
+
+        @Override
+        public JsonObject toJson() { return Parser.json(type(), text); }
+    }
+
+    /**
+     * Title page; {@code text} is the raw translation key, Eidolon appends ".title" itself
+     */
+    record Title(String text) implements CodexPage {
+        @Override
+        public String type() { return "title"; }
+
+        @Override
+        public JsonObject toJson() { return Parser.json(type(), text); }
+    }
+
+    /**
+     * Entity page; {@code entity} is null if the JSON had no valid entity id
+     */
+    record Entity(ResourceLocation entity, String text) implements CodexPage {
+        @Override
+        public String type() { return "entity"; }
+
+        @Override
+        public JsonObject toJson() { return Parser.json(type(), text, "entity", entity); }
+    }
+
+    /**
+     * Crafting page for a recipe or item id (the "recipe" and "item" fields are read the same way);
+     * {@code item} is null if neither was a valid id
+     */
+    record Crafting(ResourceLocation item, String text) implements CodexPage {
+        @Override
+        public String type() { return "crafting"; }
+
+        @Override
+        public JsonObject toJson() { return Parser.json(type(), text, "recipe", item); }
+    }
+
+    record Ritual(ResourceLocation ritual, String text) implements CodexPage {
+        @Override
+        public String type() { return "ritual"; }
+
+        @Override
+        public JsonObject toJson() { return Parser.json(type(), text, "ritual", ritual); }
+    }
+
+    record Crucible(ResourceLocation recipe, String text) implements CodexPage {
+        @Override
+        public String type() { return "crucible"; }
+
+        @Override
+        public JsonObject toJson() { return Parser.json(type(), text, "recipe", recipe); }
+    }
+
+    /**
+     * Page of a type this mod doesn't know. The JSON is kept for the factory another mod registered for it.
+     */
+    record Custom(String type, JsonObject json) implements CodexPage {
+        @Override
+        public String text() {
+            JsonElement text = json.get("text");
+            return text != null && text.isJsonPrimitive() ? text.getAsString() : null;
+        }
+
+        @Override
+        public JsonObject toJson() { return json.deepCopy(); }
+    }
+
+    /**
+     * Parses a JSON page definition. Missing or invalid ids are kept as null so conversion can
+     * log them and fall back to a text page, as it did when pages were converted from JSON.
+     */
+    static CodexPage fromJson(JsonObject json) {
+        return Parser.parse(json);
+    }
+
+    /**
+     * Reads the next page object from a stream, decoding its fields straight into the page.
+     * Fields that come before "type" are kept as JSON until the type is known, since a {@link Custom} page
+     * needs all of them; a page whose "type" comes first is decoded without building any JSON.
+     */
+    static CodexPage read(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            throw new JsonParseException("Expected a page object but found " + reader.peek() + " at " + reader.getPath());
+        }
+        return Parser.read(reader);
+    }
+
+    /**
+     * Parsing helpers. Translation keys and ids repeat across many pages, so they are interned.
+     */
+    final class Parser {
+        private static final Interner<String> STRINGS = Interners.newWeakInterner();
+        private static final Interner<ResourceLocation> LOCATIONS = Interners.newWeakInterner();
+        private static final TypeAdapter<JsonElement> JSON = new Gson().getAdapter(JsonElement.class);
+        private static final Set<String> BUILT_IN = Set.of("text", "title", "entity", "crafting", "ritual", "crucible");
+
+        private Parser() {}
+
+        private static CodexPage parse(JsonObject json) {
+            String type = json.has("type") ? json.get("type").getAsString().toLowerCase(Locale.ROOT) : "text";
+            if (!BUILT_IN.contains(type)) {
+                return new Custom(STRINGS.intern(type), json.deepCopy());
+            }
+            Fields fields = new Fields();
+            for (Map.Entry<String, JsonElement> member : json.entrySet()) {
+                if (Fields.NAMES.contains(member.getKey())) {
+                    fields.set(member.getKey(), string(member.getValue()));
+                }
+            }
+            return fields.build(type);
+        }
+
+        private static CodexPage read(JsonReader reader) throws IOException {
+            Fields fields = new Fields();
+            String type = null;
+            // Every field read while the page may still turn out to be a custom one; dropped once it can't
+            JsonObject json = new JsonObject();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (name.equals("type")) {
+                    if (type != null) {
+                        throw new JsonParseException("Page has more than one 'type' at " + reader.getPath());
+                    }
+                    JsonElement value = JSON.read(reader);
+                    type = value.getAsString().toLowerCase(Locale.ROOT);
+                    if (BUILT_IN.contains(type)) {
+                        json = null;
+                    } else {
+                        json.add(name, value);
+                    }
+                } else if (json != null) {
+                    JsonElement value = JSON.read(reader);
+                    json.add(name, value);
+                    if (Fields.NAMES.contains(name)) {
+                        fields.set(name, string(value));
+                    }
+                } else if (Fields.NAMES.contains(name)) {
+                    fields.set(name, string(reader));
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+            if (type == null) {
+                return fields.build("text");
+            }
+            return json != null ? new Custom(STRINGS.intern(type), json) : fields.build(type);
+        }
+
+        /**
+         * The fields the built-in page types read
+         */
+        private static final class Fields {
+            static final Set<String> NAMES = Set.of("text", "entity", "recipe", "item", "ritual");
+
+            String text;
+            String entity;
+            String recipe;
+            String item;
+            String ritual;
+            boolean hasRecipe;
+
+            void set(String name, String value) {
+                switch (name) {
+                    case "text" -> text = value;
+                    case "entity" -> entity = value;
+                    case "recipe" -> {
+                        recipe = value;
+                        hasRecipe = true;
+                    }
+                    case "item" -> item = value;
+                    case "ritual" -> ritual = value;
+                    default -> throw new IllegalArgumentException(name);
+                }
+            }
+
+            CodexPage build(String type) {
+                return switch (type) {
+                    case "text" -> new Text(text != null ? text : "");
+                    case "title" -> new Title(text != null ? text : "");
+                    case "entity" -> new Entity(location(entity), text);
+                    // "recipe" wins over "item" if both are present
+                    case "crafting" -> new Crafting(location(hasRecipe ? recipe : item), text);
+                    case "ritual" -> new Ritual(location(ritual), text);
+                    case "crucible" -> new Crucible(location(recipe), text);
+                    default -> throw new IllegalArgumentException("Not a built-in page type: " + type);
+                };
+            }
+        }
+
+        private static String string(JsonElement element) {
+            return element != null && !element.isJsonNull() ? STRINGS.intern(element.getAsString()) : null;
+        }
+
+        /**
+         * Reads a value the way {@link #string(JsonElement)} reads a parsed one
+         */
+        private static String string(JsonReader reader) throws IOException {
+            switch (reader.peek()) {
+                case NULL:
+                    reader.nextNull();
+                    return null;
+                case BOOLEAN:
+                    return Boolean.toString(reader.nextBoolean());
+                case STRING:
+                case NUMBER:
+                    return STRINGS.intern(reader.nextString());
+                default:
+                    throw new JsonParseException("Expected a string but found " + reader.peek() + " at " + reader.getPath());
+            }
+        }
+
+        private static ResourceLocation location(String value) {
+            if (value == null || value.isEmpty()) {
+                return null;
+            }
+            ResourceLocation location = ResourceLocation.tryParse(value);
+            return location != null ? LOCATIONS.intern(location) : null;
+        }
+
+        private static JsonObject json(String type, String text) {
+            JsonObject json = new JsonObject();
+            json.addProperty("type", type);
+            if (text != null) {
+                json.addProperty("text", text);
+            }
+            return json;
+        }
+
+        private static JsonObject json(String type, String text, String key, ResourceLocation value) {
+            JsonObject json = json(type, text);
+            if (value != null) {
+                json.addProperty(key, value.toString());
+            }
+            return json;
+        }
+    }
+}
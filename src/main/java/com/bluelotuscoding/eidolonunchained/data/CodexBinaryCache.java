@@ -0,0 +1,400 @@
+package com.bluelotuscoding.eidolonunchained.data;
+
+import com.bluelotuscoding.eidolonunchained.EidolonUnchained;
+import com.bluelotuscoding.eidolonunchained.codex.CodexEntry;
+import com.bluelotuscoding.eidolonunchained.codex.CodexPage;
+import com.google.common.hash.HashCode;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonPrimitive;
+import net.minecraft.Util;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.fml.loading.FMLPaths;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * On-disk binary copy of parsed codex files, keyed by a fingerprint of every codex file in the loaded packs.
+ * When the fingerprint matches, the whole pack is restored from one memory-mapped read instead of parsing JSON.
+ */
+public final class CodexBinaryCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CodexBinaryCache.class);
+
+    private static final int MAGIC = 0x45554358; // "EUCX"
+    private static final int FORMAT_VERSION = 6;
+    private static final int HEADER_SIZE = 4 + 4 + 16;
+
+    private static final byte FILE_SKIPPED = 0;
+    private static final byte FILE_ENTRY = 1;
+    private static final byte FILE_ERROR = 2;
+
+    // Page type tags; Custom pages carry their JSON
+    private static final byte PAGE_TEXT = 0;
+    private static final byte PAGE_TITLE = 1;
+    private static final byte PAGE_ENTITY = 2;
+    private static final byte PAGE_CRAFTING = 3;
+    private static final byte PAGE_RITUAL = 4;
+    private static final byte PAGE_CRUCIBLE = 5;
+    private static final byte PAGE_CUSTOM = 6;
+
+    private static final byte JSON_NULL = 0;
+    private static final byte JSON_TRUE = 1;
+    private static final byte JSON_FALSE = 2;
+    private static final byte JSON_STRING = 3;
+    private static final byte JSON_NUMBER = 4;
+    private static final byte JSON_ARRAY = 5;
+    private static final byte JSON_OBJECT = 6;
+
+    private CodexBinaryCache() {}
+
+    static Path getCachePath() {
+        return FMLPaths.GAMEDIR.get().resolve(".cache").resolve(EidolonUnchained.MODID).resolve("codex_entries.bin");
+    }
+
+    /**
+     * Reads the cached files if the cache was written for the same fingerprint, otherwise returns null
+     */
+    static List<CodexDataManager.LoadedFile> read(HashCode fingerprint) {
+        Path path = getCachePath();
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // Check the header with a plain read first; only map the file when it will actually be used
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // keep reading until the header is complete or the file ends
+            }
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC || header.getInt() != FORMAT_VERSION) {
+                LOGGER.info("Ignoring codex cache with an unknown format");
+                return null;
+            }
+            byte[] cachedFingerprint = new byte[16];
+            header.get(cachedFingerprint);
+            if (!HashCode.fromBytes(cachedFingerprint).equals(fingerprint)) {
+                LOGGER.info("Codex cache is out of date, loading from JSON");
+                return null;
+            }
+
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.position(HEADER_SIZE);
+            int count = buffer.getInt();
+            List<CodexDataManager.LoadedFile> files = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                files.add(readFile(buffer));
+            }
+            LOGGER.info("Loaded {} codex files from cache", files.size());
+            return files;
+
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Could not read codex cache, loading from JSON: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes the cache on the IO pool so the reload doesn't wait for the disk
+     */
+    static void writeAsync(HashCode fingerprint, List<CodexDataManager.LoadedFile> files) {
+        List<CodexDataManager.LoadedFile> snapshot = List.copyOf(files);
+        Util.ioPool().execute(() -> write(fingerprint, snapshot));
+    }
+
+    private static void write(HashCode fingerprint, List<CodexDataManager.LoadedFile> files) {
+        Path path = getCachePath();
+        try {
+            Files.createDirectories(path.getParent());
+            Path temp = Files.createTempFile(path.getParent(), "codex_entries", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.write(fingerprint.asBytes());
+                out.writeInt(files.size());
+                for (CodexDataManager.LoadedFile file : files) {
+                    writeFile(out, file);
+                }
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LOGGER.debug("Wrote {} codex files to cache {}", files.size(), path);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Could not write codex cache: {}", e.getMessage());
+        }
+    }
+
+    private static void writeFile(DataOutputStream out, CodexDataManager.LoadedFile file) throws IOException {
+        writeString(out, file.path().toString());
+        out.write(file.hash().asBytes());
+        writeVarInt(out, file.entries().size());
+        for (CodexDataManager.ParsedFile parsed : file.entries()) {
+            writeEntry(out, parsed);
+        }
+    }
+
+    private static void writeEntry(DataOutputStream out, CodexDataManager.ParsedFile parsed) throws IOException {
+        writeString(out, parsed.location().toString());
+        if (parsed.error() != null) {
+            out.writeByte(FILE_ERROR);
+            writeString(out, String.valueOf(parsed.error().getMessage()));
+        } else if (parsed.entry() == null) {
+            out.writeByte(FILE_SKIPPED);
+        } else {
+            CodexEntry entry = parsed.entry();
+            out.writeByte(FILE_ENTRY);
+            writeString(out, parsed.targetChapter().toString());
+            writeString(out, entry.getTitle().getString());
+            writeVarInt(out, entry.getPrerequisites().size());
+            for (ResourceLocation prerequisite : entry.getPrerequisites()) {
+                writeString(out, prerequisite.toString());
+            }
+            writeVarInt(out, entry.getSortOrder());
+            writeVarInt(out, entry.getAnchorPage());
+            writeVarInt(out, entry.getPages().size());
+            for (CodexPage page : entry.getPages()) {
+                writePage(out, page);
+            }
+        }
+    }
+
+    private static CodexDataManager.LoadedFile readFile(ByteBuffer buffer) {
+        ResourceLocation path = new ResourceLocation(readString(buffer));
+        byte[] hash = new byte[16];
+        buffer.get(hash);
+        int entryCount = readVarInt(buffer);
+        List<CodexDataManager.ParsedFile> entries = new ArrayList<>(entryCount);
+        for (int i = 0; i < entryCount; i++) {
+            entries.add(readEntry(buffer));
+        }
+        return new CodexDataManager.LoadedFile(path, HashCode.fromBytes(hash), List.copyOf(entries));
+    }
+
+    private static CodexDataManager.ParsedFile readEntry(ByteBuffer buffer) {
+        ResourceLocation location = new ResourceLocation(readString(buffer));
+        CodexDataManager.ParsedFile parsed;
+        byte kind = buffer.get();
+        switch (kind) {
+            case FILE_ENTRY: {
+                ResourceLocation targetChapter = new ResourceLocation(readString(buffer));
+                String title = readString(buffer);
+                int prerequisiteCount = readVarInt(buffer);
+                List<ResourceLocation> prerequisites = new ArrayList<>(prerequisiteCount);
+                for (int i = 0; i < prerequisiteCount; i++) {
+                    prerequisites.add(new ResourceLocation(readString(buffer)));
+                }
+                int sortOrder = readVarInt(buffer);
+                int anchorPage = readVarInt(buffer);
+                int pageCount = readVarInt(buffer);
+                List<CodexPage> pages = new ArrayList<>(pageCount);
+                for (int i = 0; i < pageCount; i++) {
+                    pages.add(readPage(buffer));
+                }
+                parsed = new CodexDataManager.ParsedFile(location, targetChapter,
+                        CodexEntry.fromDatapack(location, title, pages, prerequisites, sortOrder, anchorPage), null);
+                break;
+            }
+            case FILE_ERROR:
+                parsed = CodexDataManager.ParsedFile.failed(location, new JsonParseException(readString(buffer)));
+                break;
+            case FILE_SKIPPED:
+                parsed = CodexDataManager.ParsedFile.skipped(location);
+                break;
+            default:
+                throw new IllegalStateException("Corrupt codex cache entry for " + location);
+        }
+        return parsed;
+    }
+
+    // Built-in pages are stored as their typed fields, so restoring them builds no JSON
+
+    private static void writePage(DataOutputStream out, CodexPage page) throws IOException {
+        if (page instanceof CodexPage.Text text) {
+            out.writeByte(PAGE_TEXT);
+            writeString(out, text.text());
+        } else if (page instanceof CodexPage.Title title) {
+            out.writeByte(PAGE_TITLE);
+            writeString(out, title.text());
+        } else if (page instanceof CodexPage.Entity entity) {
+            out.writeByte(PAGE_ENTITY);
+            writeOptionalLocation(out, entity.entity());
+            writeOptionalString(out, entity.text());
+        } else if (page instanceof CodexPage.Crafting crafting) {
+            out.writeByte(PAGE_CRAFTING);
+            writeOptionalLocation(out, crafting.item());
+            writeOptionalString(out, crafting.text());
+        } else if (page instanceof CodexPage.Ritual ritual) {
+            out.writeByte(PAGE_RITUAL);
+            writeOptionalLocation(out, ritual.ritual());
+            writeOptionalString(out, ritual.text());
+        } else if (page instanceof CodexPage.Crucible crucible) {
+            out.writeByte(PAGE_CRUCIBLE);
+            writeOptionalLocation(out, crucible.recipe());
+            writeOptionalString(out, crucible.text());
+        } else {
+            out.writeByte(PAGE_CUSTOM);
+            writeString(out, page.type());
+            writeJson(out, page.toJson());
+        }
+    }
+
+    private static CodexPage readPage(ByteBuffer buffer) {
+        byte tag = buffer.get();
+        return switch (tag) {
+            case PAGE_TEXT -> new CodexPage.Text(readString(buffer));
+            case PAGE_TITLE -> new CodexPage.Title(readString(buffer));
+            case PAGE_ENTITY -> new CodexPage.Entity(readOptionalLocation(buffer), readOptionalString(buffer));
+            case PAGE_CRAFTING -> new CodexPage.Crafting(readOptionalLocation(buffer), readOptionalString(buffer));
+            case PAGE_RITUAL -> new CodexPage.Ritual(readOptionalLocation(buffer), readOptionalString(buffer));
+            case PAGE_CRUCIBLE -> new CodexPage.Crucible(readOptionalLocation(buffer), readOptionalString(buffer));
+            case PAGE_CUSTOM -> new CodexPage.Custom(readString(buffer), readJson(buffer).getAsJsonObject());
+            default -> throw new IllegalStateException("Corrupt codex cache: unknown page type " + tag);
+        };
+    }
+
+    private static void writeOptionalLocation(DataOutputStream out, ResourceLocation location) throws IOException {
+        writeOptionalString(out, location != null ? location.toString() : null);
+    }
+
+    private static ResourceLocation readOptionalLocation(ByteBuffer buffer) {
+        String value = readOptionalString(buffer);
+        return value != null ? new ResourceLocation(value) : null;
+    }
+
+    private static void writeOptionalString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            writeString(out, value);
+        }
+    }
+
+    private static String readOptionalString(ByteBuffer buffer) {
+        return buffer.get() != 0 ? readString(buffer) : null;
+    }
+
+    private static void writeJson(DataOutputStream out, JsonElement json) throws IOException {
+        if (json == null || json.isJsonNull()) {
+            out.writeByte(JSON_NULL);
+        } else if (json.isJsonObject()) {
+            out.writeByte(JSON_OBJECT);
+            JsonObject object = json.getAsJsonObject();
+            writeVarInt(out, object.size());
+            for (Map.Entry<String, JsonElement> member : object.entrySet()) {
+                writeString(out, member.getKey());
+                writeJson(out, member.getValue());
+            }
+        } else if (json.isJsonArray()) {
+            out.writeByte(JSON_ARRAY);
+            JsonArray array = json.getAsJsonArray();
+            writeVarInt(out, array.size());
+            for (JsonElement element : array) {
+                writeJson(out, element);
+            }
+        } else {
+            JsonPrimitive primitive = json.getAsJsonPrimitive();
+            if (primitive.isBoolean()) {
+                out.writeByte(primitive.getAsBoolean() ? JSON_TRUE : JSON_FALSE);
+            } else if (primitive.isNumber()) {
+                out.writeByte(JSON_NUMBER);
+                writeString(out, primitive.getAsString());
+            } else {
+                out.writeByte(JSON_STRING);
+                writeString(out, primitive.getAsString());
+            }
+        }
+    }
+
+    private static JsonElement readJson(ByteBuffer buffer) {
+        byte tag = buffer.get();
+        switch (tag) {
+            case JSON_NULL:
+                return JsonNull.INSTANCE;
+            case JSON_TRUE:
+                return new JsonPrimitive(true);
+            case JSON_FALSE:
+                return new JsonPrimitive(false);
+            case JSON_STRING:
+                return new JsonPrimitive(readString(buffer));
+            case JSON_NUMBER:
+                return new JsonPrimitive(new BigDecimal(readString(buffer)));
+            case JSON_ARRAY: {
+                int size = readVarInt(buffer);
+                JsonArray array = new JsonArray(size);
+                for (int i = 0; i < size; i++) {
+                    array.add(readJson(buffer));
+                }
+                return array;
+            }
+            case JSON_OBJECT: {
+                int size = readVarInt(buffer);
+                JsonObject object = new JsonObject();
+                for (int i = 0; i < size; i++) {
+                    String key = readString(buffer);
+                    object.add(key, readJson(buffer));
+                }
+                return object;
+            }
+            default:
+                throw new IllegalStateException("Corrupt codex cache: unknown JSON tag " + tag);
+        }
+    }
+
+    // Strings are stored as a varint byte length followed by UTF-8, so page text isn't limited to 64 KiB
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = readVarInt(buffer);
+        if (length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(ByteBuffer buffer) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            if (shift >= 35) {
+                throw new IllegalStateException("Corrupt codex cache: varint too long");
+            }
+            b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
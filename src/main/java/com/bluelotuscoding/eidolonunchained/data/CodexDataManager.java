@@ -1,43 +1,67 @@
 package com.bluelotuscoding.eidolonunchained.data;
 
+import com.bluelotuscoding.eidolonunchained.Config;
 import com.bluelotuscoding.eidolonunchained.EidolonUnchained;
 import com.bluelotuscoding.eidolonunchained.codex.CodexEntry;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParseException;
+import com.bluelotuscoding.eidolonunchained.codex.CodexPage;
+import com.bluelotuscoding.eidolonunchained.debug.LoadDiagnostics;
+import com.bluelotuscoding.eidolonunchained.debug.ReloadMetrics;
+import com.bluelotuscoding.eidolonunchained.integration.EidolonChapterIndex;
+import com.bluelotuscoding.eidolonunchained.research.DependencyReport;
+import com.bluelotuscoding.eidolonunchained.research.ResearchGraph;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import net.minecraft.resources.FileToIdConverter;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.resources.Resource;
 import net.minecraft.server.packs.resources.ResourceManager;
-import net.minecraft.server.packs.resources.SimpleJsonResourceReloadListener;
+import net.minecraft.server.packs.resources.SimplePreparableReloadListener;
 import net.minecraft.util.profiling.ProfilerFiller;
+import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.event.AddReloadListenerEvent;
+import net.minecraftforge.event.OnDatapackSyncEvent;
 import net.minecraftforge.event.server.ServerStartedEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.loading.FMLEnvironment;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.stream.IntStream;
 
 /**
  * Manages loading and registration of custom codex entries that extend existing Eidolon chapters.
  * This allows addon developers and users to add new entries to existing chapters via JSON files.
  */
 @Mod.EventBusSubscriber(modid = EidolonUnchained.MODID, bus = Mod.EventBusSubscriber.Bus.FORGE)
-public class CodexDataManager extends SimpleJsonResourceReloadListener {
+public class CodexDataManager extends SimplePreparableReloadListener<CodexDataManager.PreparedCodex> {
     
     private static final Logger LOGGER = LoggerFactory.getLogger(CodexDataManager.class);
-    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final FileToIdConverter LISTER = FileToIdConverter.json("codex_entries");
+    // Bundles with one entry per line
+    private static final FileToIdConverter LINES_LISTER = new FileToIdConverter("codex_entries", ".jsonl");
     
-    // Storage for loaded codex entries, grouped by target chapter
-    private static final Map<ResourceLocation, List<CodexEntry>> CHAPTER_EXTENSIONS = new HashMap<>();
-    private static final Map<ResourceLocation, CodexEntry> ALL_ENTRIES = new HashMap<>();
+    // Below this many files the fork-join overhead outweighs the parallel parse
+    private static final int PARALLEL_PARSE_THRESHOLD = 32;
+    
+    // Loaded codex entries, replaced as a whole on every reload
+    private static volatile CodexSnapshot SNAPSHOT = CodexSnapshot.EMPTY;
     
     private static CodexDataManager INSTANCE;
     
+    // Content hash and parse result of every file from the last reload, used to skip unchanged files.
+    // Written by apply and read by the next prepare on a worker thread.
+    private volatile Map<ResourceLocation, LoadedFile> loadedFiles = Map.of();
+    
     public CodexDataManager() {
-        super(GSON, "codex_entries");
         INSTANCE = this;
     }
     
@@ -65,186 +89,395 @@ public class CodexDataManager extends SimpleJsonResourceReloadListener {
     
     @SubscribeEvent
     public static void onServerStarted(ServerStartedEvent event) {
+        CodexSnapshot snapshot = SNAPSHOT;
         LOGGER.info("Server started - loaded {} custom codex entries extending {} chapters", 
-                   ALL_ENTRIES.size(), CHAPTER_EXTENSIONS.size());
+                   snapshot.getEntries().size(), snapshot.getChapterExtensions().size());
         
         // Log all loaded content for debugging
-        if (!CHAPTER_EXTENSIONS.isEmpty()) {
-            CHAPTER_EXTENSIONS.forEach((chapter, entries) -> {
-                LOGGER.info("Chapter '{}' extended with {} entries: {}", 
-                           chapter, entries.size(), 
-                           entries.stream().map(e -> e.getId().toString()).toList());
-            });
+        snapshot.getChapterExtensions().forEach((chapter, entries) ->
+                LoadDiagnostics.detail(LOGGER).setMessage("Chapter '{}' extended with {} entries: {}")
+                        .addArgument(chapter).addArgument(entries.size())
+                        .addArgument(() -> entries.stream().map(e -> e.getId().toString()).toList())
+                        .log());
+        // The initial datapack load is complete, including injection on an integrated server
+        ReloadMetrics.reloadFinished();
+    }
+    
+    @SubscribeEvent
+    public static void onDatapackSync(OnDatapackSyncEvent event) {
+        if (event.getPlayer() == null) {
+            // After /reload, once every reload listener has applied
+            ReloadMetrics.reloadFinished();
         }
     }
     
+    /**
+     * Does the whole reload on the reload worker thread: reads and hashes every codex file, parses and validates
+     * the ones that changed, and builds the next snapshot. The server keeps ticking meanwhile; {@link #apply}
+     * only publishes the result.
+     */
     @Override
-    protected void apply(Map<ResourceLocation, JsonElement> resourceLocationJsonObjectMap, 
-                        ResourceManager resourceManager, ProfilerFiller profilerFiller) {
+    protected PreparedCodex prepare(ResourceManager resourceManager, ProfilerFiller profilerFiller) {
+        ReloadMetrics.reset();
+        return compile(read(resourceManager));
+    }
+    
+    /**
+     * Reads and hashes every codex file.
+     * Only the bytes of files that changed since the last reload are kept for parsing, and none at all when the
+     * binary cache matches the packs on disk.
+     */
+    private CodexFiles read(ResourceManager resourceManager) {
+        long readStart = System.nanoTime();
+        Map<ResourceLocation, LoadedFile> previousFiles = loadedFiles;
+        List<PreparedFile> files = new ArrayList<>();
+        Map<ResourceLocation, byte[]> changedBytes = new HashMap<>();
+        Hasher fingerprint = Hashing.murmur3_128().newHasher();
+        
+        // Sorted by path, so the fingerprint and the load order are the same on every reload and server
+        Map<ResourceLocation, Resource> resources = new TreeMap<>(LISTER.listMatchingResources(resourceManager));
+        resources.putAll(LINES_LISTER.listMatchingResources(resourceManager));
+        for (Map.Entry<ResourceLocation, Resource> resource : resources.entrySet()) {
+            ResourceLocation location = resource.getKey();
+            try (InputStream in = resource.getValue().open()) {
+                byte[] bytes = in.readAllBytes();
+                ReloadMetrics.add(ReloadMetrics.Counter.BYTES_READ, bytes.length);
+                HashCode hash = Hashing.murmur3_128().hashBytes(bytes);
+                fingerprint.putUnencodedChars(location.toString()).putBytes(hash.asBytes());
+                files.add(new PreparedFile(location, hash, null));
+                
+                LoadedFile previous = previousFiles.get(location);
+                if (previous == null || !previous.hash().equals(hash)) {
+                    changedBytes.put(location, bytes);
+                }
+            } catch (IOException e) {
+                LOGGER.error("Couldn't read data file {} from {}", location, resource.getValue().sourcePackId(), e);
+            }
+        }
+        HashCode packFingerprint = fingerprint.hash();
+        ReloadMetrics.add(ReloadMetrics.Counter.FILES, files.size());
+        ReloadMetrics.stop(ReloadMetrics.Timer.READ, readStart);
         
-        LOGGER.info("CodexDataManager.apply() called with {} resources", resourceLocationJsonObjectMap.size());
+        // A warm start can skip JSON entirely if the cache was written for exactly these files
+        if (Config.codexBinaryCache && previousFiles.isEmpty()) {
+            List<LoadedFile> cached = CodexBinaryCache.read(packFingerprint);
+            if (cached != null) {
+                return new CodexFiles(List.of(), packFingerprint, cached);
+            }
+        }
         
-        // Log all detected resources for debugging
-        resourceLocationJsonObjectMap.keySet().forEach(location -> {
-            LOGGER.info("Found resource: {}", location);
+        List<PreparedFile> prepared = new ArrayList<>(files.size());
+        for (PreparedFile file : files) {
+            byte[] bytes = changedBytes.get(file.path());
+            prepared.add(bytes != null ? new PreparedFile(file.path(), file.hash(), bytes) : file);
+        }
+        return new CodexFiles(prepared, packFingerprint, null);
+    }
+    
+    /**
+     * Turns the files read by prepare into the next snapshot, without publishing anything.
+     * Reloads never overlap, so the snapshot and the file state it was built from are still current when apply runs.
+     */
+    PreparedCodex compile(CodexFiles read) {
+        Map<ResourceLocation, LoadedFile> previousFiles = loadedFiles;
+        LoadedFile[] results;
+        if (read.cached() != null) {
+            results = read.cached().toArray(new LoadedFile[0]);
+        } else {
+            // Parse only the files that changed since the last reload.
+            // Files are handled independently (in parallel for large packs) and keep their sorted order.
+            List<PreparedFile> files = read.files();
+            LoadedFile[] parsed = new LoadedFile[files.size()];
+            IntStream indices = IntStream.range(0, files.size());
+            if (files.size() >= PARALLEL_PARSE_THRESHOLD) {
+                indices = indices.parallel();
+            }
+            long parseStart = System.nanoTime();
+            indices.forEach(i -> parsed[i] = loadFile(files.get(i), previousFiles));
+            ReloadMetrics.stop(ReloadMetrics.Timer.PARSE, parseStart);
+            results = parsed;
+        }
+        long validateStart = System.nanoTime();
+        
+        // Work out which entries and chapters this reload touched. Entries are compared by the hash of the
+        // file they came from, so an edited bundle counts all of its entries as changed.
+        Map<ResourceLocation, LoadedFile> currentFiles = new HashMap<>();
+        for (LoadedFile file : results) {
+            currentFiles.put(file.path(), file);
+        }
+        Map<ResourceLocation, SourcedEntry> previousEntries = indexEntries(previousFiles.values());
+        Map<ResourceLocation, SourcedEntry> currentEntries = indexEntries(Arrays.asList(results));
+        Set<ResourceLocation> added = new LinkedHashSet<>();
+        Set<ResourceLocation> changed = new LinkedHashSet<>();
+        Set<ResourceLocation> affectedChapters = new LinkedHashSet<>();
+        currentEntries.forEach((id, current) -> {
+            SourcedEntry previous = previousEntries.get(id);
+            if (previous == null) {
+                added.add(id);
+            } else if (!previous.hash().equals(current.hash())) {
+                changed.add(id);
+                affectedChapters.add(previous.parsed().targetChapter());
+            } else {
+                return;
+            }
+            affectedChapters.add(current.parsed().targetChapter());
+        });
+        Set<ResourceLocation> removed = new LinkedHashSet<>();
+        previousEntries.forEach((id, previous) -> {
+            if (!currentEntries.containsKey(id)) {
+                removed.add(id);
+                affectedChapters.add(previous.parsed().targetChapter());
+            }
         });
         
-        CHAPTER_EXTENSIONS.clear();
-        ALL_ENTRIES.clear();
+        LOGGER.info("Codex reload: {} files; {} added, {} changed, {} removed, {} unchanged entries; {} chapters affected",
+                    results.length, added.size(), changed.size(), removed.size(),
+                    currentEntries.size() - added.size() - changed.size(), affectedChapters.size());
+        
+        CodexSnapshot.Builder builder = new CodexSnapshot.Builder();
         
         int loadedEntries = 0;
         int errors = 0;
         
-        for (Map.Entry<ResourceLocation, JsonElement> entry : resourceLocationJsonObjectMap.entrySet()) {
-            ResourceLocation resourceLocation = entry.getKey();
-            JsonElement jsonElement = entry.getValue();
-            
-            LOGGER.info("Processing codex entry file: {}", resourceLocation);
-            
-            if (!jsonElement.isJsonObject()) {
-                LOGGER.warn("Skipping non-object JSON at {}", resourceLocation);
-                continue;
-            }
-            
-            JsonObject json = jsonElement.getAsJsonObject();
-            
-            try {
-                String path = resourceLocation.getPath();
-                
-                LOGGER.info("Resource path: {}, processing codex entry...", path);
+        // Merge sequentially in the original order so later files still override earlier ones
+        for (LoadedFile file : results) {
+            for (ParsedFile parsed : file.entries()) {
+                if (parsed.error() != null) {
+                    LOGGER.error("Error loading codex data from {}: {}", parsed.location(), parsed.error().getMessage(), parsed.error());
+                    errors++;
+                    continue;
+                }
+                if (parsed.entry() == null) {
+                    continue;
+                }
+                if (builder.contains(parsed.location())) {
+                    LOGGER.warn("Codex entry {} from {} replaces an earlier definition", parsed.location(), file.path());
+                }
                 
-                // All files from this listener are already from codex_entries directory
-                LOGGER.info("Attempting to load codex entry...");
-                loadCodexEntry(resourceLocation, json);
+                builder.add(parsed.targetChapter(), parsed.entry(), file.hash());
                 loadedEntries++;
-                LOGGER.info("Successfully loaded entry! Total loaded: {}", loadedEntries);
-                
-            } catch (Exception e) {
-                LOGGER.error("Error loading codex data from {}: {}", resourceLocation, e.getMessage(), e);
-                errors++;
+                for (CodexPage page : parsed.entry().getPages()) {
+                    ReloadMetrics.countPage(page.type());
+                }
             }
         }
         
-        LOGGER.info("Loaded {} codex entries with {} errors", loadedEntries, errors);
+        long previousGeneration = SNAPSHOT.getGeneration();
+        CodexReloadDiff diff = new CodexReloadDiff(previousGeneration, added, changed, removed, affectedChapters);
+        CodexSnapshot snapshot = builder.build(previousGeneration + 1, diff);
+        
+        ReloadMetrics.add(ReloadMetrics.Counter.ENTRIES, loadedEntries);
+        ReloadMetrics.add(ReloadMetrics.Counter.ERRORS, errors);
+        LOGGER.info("Loaded {} codex entries with {} errors (generation {})", loadedEntries, errors, snapshot.getGeneration());
+        
+        reportUnknownChapters(snapshot);
+        validatePrerequisites(snapshot);
+        ReloadMetrics.stop(ReloadMetrics.Timer.VALIDATE, validateStart);
+        
+        List<LoadedFile> cacheable = read.cached() == null ? Arrays.asList(results) : null;
+        return new PreparedCodex(snapshot, currentFiles, read.fingerprint(), cacheable);
     }
     
     /**
-     * Loads a codex entry from JSON data
+     * Publishes the snapshot built by prepare. Runs on the server thread, so it does nothing that grows with the pack.
      */
-    private void loadCodexEntry(ResourceLocation location, JsonObject json) {
-        try {
-            LOGGER.info("Loading codex entry from {}", location);
-            
-            // Log the JSON content for debugging
-            LOGGER.info("JSON content keys: {}", json.keySet());
-            
-            // Validate required fields
-            if (!json.has("target_chapter")) {
-                throw new JsonParseException("Codex entry missing 'target_chapter' field");
-            }
-            if (!json.has("pages")) {
-                throw new JsonParseException("Codex entry missing 'pages' field");
-            }
-            
-            LOGGER.info("Required fields present, proceeding with parsing...");
-            
-            // Use the file location as the entry ID
-            ResourceLocation entryId = location;
-            
-            // Parse target chapter - support both direct field names and resource locations
-            String targetChapterStr = json.get("target_chapter").getAsString();
-            LOGGER.info("Entry {} targets chapter: {}", entryId, targetChapterStr);
-            
-            ResourceLocation targetChapter;
-            
-            if (targetChapterStr.contains(":")) {
-                // It's a resource location like "eidolon:void_amulet"
-                targetChapter = ResourceLocation.tryParse(targetChapterStr);
-                LOGGER.info("Parsed as resource location: {}", targetChapter);
-            } else {
-                // It's a direct field name like "VOID_AMULET" - convert to dummy resource location
-                targetChapter = ResourceLocation.tryParse("eidolon:" + targetChapterStr.toLowerCase());
-                LOGGER.info("Converted field name to resource location: {}", targetChapter);
+    @Override
+    protected void apply(PreparedCodex prepared, ResourceManager resourceManager, ProfilerFiller profilerFiller) {
+        loadedFiles = prepared.files();
+        SNAPSHOT = prepared.snapshot();
+        
+        // Written on the IO pool; the reload stats are written once every listener has applied
+        if (Config.codexBinaryCache && prepared.cacheable() != null) {
+            CodexBinaryCache.writeAsync(prepared.fingerprint(), prepared.cacheable());
+        }
+    }
+    
+    /**
+     * Reports prerequisite cycles and prerequisites that aren't codex entries or Eidolon ids
+     */
+    private static void validatePrerequisites(CodexSnapshot snapshot) {
+        ResearchGraph graph = ResearchGraph.build(snapshot.getEntries().values(),
+                CodexEntry::getId, CodexEntry::getPrerequisites, entry -> List.of());
+        DependencyReport report = DependencyReport.of(graph, id -> "eidolon".equals(id.getNamespace()));
+        report.log(LOGGER, "codex");
+        ReloadMetrics.add(ReloadMetrics.Counter.ERRORS, report.cycles().size() + report.unknownReferences().size());
+    }
+    
+    /**
+     * Warns about target_chapter values that don't match any Eidolon chapter, once per chapter.
+     * Eidolon's codex is client-only, so dedicated servers don't look at it.
+     */
+    private static void reportUnknownChapters(CodexSnapshot snapshot) {
+        if (FMLEnvironment.dist != Dist.CLIENT || !EidolonChapterIndex.isAvailable()) {
+            return;
+        }
+        snapshot.getChapterExtensions().forEach((chapterId, entries) -> {
+            if (!EidolonChapterIndex.isKnownChapter(chapterId)) {
+                LOGGER.warn("Unknown target_chapter '{}' used by {} - these entries will not appear in the codex",
+                            chapterId, entries.stream().map(e -> e.getId().toString()).toList());
             }
-            
-            if (targetChapter == null) {
-                throw new JsonParseException("Invalid target_chapter format: " + targetChapterStr);
+        });
+    }
+    
+    /**
+     * The codex files that were read: every file with its content hash, plus the contents of the files
+     * that changed since the last reload. {@code cached} replaces the files when the binary cache was used.
+     */
+    record CodexFiles(List<PreparedFile> files, HashCode fingerprint, List<LoadedFile> cached) {}
+    
+    /**
+     * What prepare hands to apply: the finished snapshot, the file state it was built from, and the files to
+     * write to the binary cache ({@code null} if they came from it)
+     */
+    record PreparedCodex(CodexSnapshot snapshot, Map<ResourceLocation, LoadedFile> files, HashCode fingerprint,
+                         List<LoadedFile> cacheable) {}
+    
+    /**
+     * A codex file's path and content hash; {@code bytes} is null when the file is unchanged since the last reload
+     */
+    record PreparedFile(ResourceLocation path, HashCode hash, byte[] bytes) {}
+    
+    /**
+     * Result of parsing a single codex entry; {@code location} is the entry's id, or the file's if it failed.
+     * Immutable so files can be parsed on any thread. A null entry with a null error means the file was skipped.
+     */
+    record ParsedFile(ResourceLocation location, ResourceLocation targetChapter, CodexEntry entry, Exception error) {
+        static ParsedFile skipped(ResourceLocation location) {
+            return new ParsedFile(location, null, null, null);
+        }
+        
+        static ParsedFile failed(ResourceLocation location, Exception error) {
+            return new ParsedFile(location, null, null, error);
+        }
+    }
+    
+    /**
+     * A file's content hash together with the entries parsed from it; a bundle holds many, any other file one
+     */
+    record LoadedFile(ResourceLocation path, HashCode hash, List<ParsedFile> entries) {}
+    
+    /**
+     * A loaded entry with the content hash of its file
+     */
+    private record SourcedEntry(HashCode hash, ParsedFile parsed) {}
+    
+    /**
+     * Maps the id of every loaded entry to where it came from; later files win, as they do in the snapshot
+     */
+    private static Map<ResourceLocation, SourcedEntry> indexEntries(Collection<LoadedFile> files) {
+        Map<ResourceLocation, SourcedEntry> entries = new HashMap<>();
+        for (LoadedFile file : files) {
+            for (ParsedFile parsed : file.entries()) {
+                if (parsed.entry() != null) {
+                    entries.put(parsed.location(), new SourcedEntry(file.hash(), parsed));
+                }
             }
-            
-            LOGGER.info("About to create CodexEntry...");
-            
-            // Create the CodexEntry object
-            String title = json.has("title") ? json.get("title").getAsString() : location.getPath();
-            CodexEntry entry = CodexEntry.fromDatapack(entryId, title, json.getAsJsonArray("pages"));
-            
-            LOGGER.info("CodexEntry created successfully with {} pages", entry.getPages().size());
-            
-            // Store in both maps
-            ALL_ENTRIES.put(entryId, entry);
-            CHAPTER_EXTENSIONS.computeIfAbsent(targetChapter, k -> new ArrayList<>()).add(entry);
-            
-            LOGGER.info("✓ Successfully loaded codex entry '{}' with {} pages for chapter '{}'", 
-                        entryId, entry.getPages().size(), targetChapter);
-            
-        } catch (Exception e) {
-            LOGGER.error("Exception in loadCodexEntry for {}: {}", location, e.getMessage(), e);
-            throw new RuntimeException("Failed to load codex entry from " + location, e);
-        }
-    }
-    
-    /**
-     * Gets all loaded codex entries for a specific chapter
+        }
+        return entries;
+    }
+    
+    /**
+     * Reuses the previous parse result if the file's content is unchanged, otherwise parses it again
+     */
+    private LoadedFile loadFile(PreparedFile file, Map<ResourceLocation, LoadedFile> previousFiles) {
+        boolean lines = file.path().getPath().endsWith(".jsonl");
+        ResourceLocation location = (lines ? LINES_LISTER : LISTER).fileToId(file.path());
+        if (file.bytes() != null) {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(file.bytes()), StandardCharsets.UTF_8));
+            return new LoadedFile(file.path(), file.hash(),
+                    lines ? CodexEntryReader.readLines(location, reader) : CodexEntryReader.read(location, reader));
+        }
+        LoadedFile previous = previousFiles.get(file.path());
+        if (previous != null && previous.hash().equals(file.hash())) {
+            return previous;
+        }
+        // Only possible if the file state was replaced between reading and compiling, e.g. by a server sync
+        return new LoadedFile(file.path(), file.hash(), List.of(ParsedFile.failed(location,
+                new IllegalStateException("Codex file changed during reload, reload again"))));
+    }
+    
+    /**
+     * Publishes codex entries received from the server, replacing whatever this client loaded itself.
+     * The next local datapack load starts from scratch, since it can no longer diff against its own files.
+     */
+    public static void publishSynced(CodexSnapshot.Builder builder, Set<ResourceLocation> added, Set<ResourceLocation> changed,
+                                     Set<ResourceLocation> removed, Set<ResourceLocation> affectedChapters) {
+        getInstance().loadedFiles = Map.of();
+        long previousGeneration = SNAPSHOT.getGeneration();
+        SNAPSHOT = builder.build(previousGeneration + 1,
+                new CodexReloadDiff(previousGeneration, added, changed, removed, affectedChapters));
+        LOGGER.info("Received {} codex entries from the server (generation {})", builder.size(), SNAPSHOT.getGeneration());
+    }
+    
+    /**
+     * Gets the current codex registry snapshot. The snapshot never changes; a reload publishes a new one.
+     */
+    public static CodexSnapshot getSnapshot() {
+        return SNAPSHOT;
+    }
+    
+    /**
+     * Gets the generation of the current snapshot, increased by every reload
+     */
+    public static long getGeneration() {
+        return SNAPSHOT.getGeneration();
+    }
+    
+    /**
+     * Gets all loaded codex entries for a specific chapter (read-only)
      */
     public static List<CodexEntry> getEntriesForChapter(ResourceLocation chapterId) {
-        return CHAPTER_EXTENSIONS.getOrDefault(chapterId, new ArrayList<>());
+        return SNAPSHOT.getEntriesForChapter(chapterId);
     }
     
     /**
-     * Gets all loaded codex entries
+     * Gets all loaded codex entries (read-only)
      */
     public static Map<ResourceLocation, CodexEntry> getAllEntries() {
-        return new HashMap<>(ALL_ENTRIES);
+        return SNAPSHOT.getEntries();
     }
     
     /**
-     * Gets all chapter extensions
+     * Gets all chapter extensions (read-only)
      */
     public static Map<ResourceLocation, List<CodexEntry>> getAllChapterExtensions() {
-        return new HashMap<>(CHAPTER_EXTENSIONS);
+        return SNAPSHOT.getChapterExtensions();
     }
     
     /**
      * Gets a specific codex entry by ID
      */
     public static CodexEntry getEntry(ResourceLocation id) {
-        return ALL_ENTRIES.get(id);
+        return SNAPSHOT.getEntries().get(id);
     }
     
     /**
      * Checks if a codex entry exists
      */
     public static boolean hasEntry(ResourceLocation id) {
-        return ALL_ENTRIES.containsKey(id);
+        return SNAPSHOT.getEntries().containsKey(id);
     }
     
     /**
      * Checks if a chapter has any extensions
      */
     public static boolean hasExtensions(ResourceLocation chapterId) {
-        return CHAPTER_EXTENSIONS.containsKey(chapterId) && !CHAPTER_EXTENSIONS.get(chapterId).isEmpty();
+        return !SNAPSHOT.getEntriesForChapter(chapterId).isEmpty();
     }
     
     /**
      * Log loaded data for debugging
      */
     public static void logLoadedData() {
+        CodexSnapshot snapshot = SNAPSHOT;
         LOGGER.info("Server started - loaded {} custom codex entries extending {} chapters", 
-                   ALL_ENTRIES.size(), CHAPTER_EXTENSIONS.size());
+                   snapshot.getEntries().size(), snapshot.getChapterExtensions().size());
         
-        for (Map.Entry<ResourceLocation, List<CodexEntry>> entry : CHAPTER_EXTENSIONS.entrySet()) {
-            LOGGER.info("Chapter '{}' extended with {} entries: {}", 
-                       entry.getKey(), entry.getValue().size(), 
-                       entry.getValue().stream().map(e -> e.getId().toString()).toList());
+        for (Map.Entry<ResourceLocation, List<CodexEntry>> entry : snapshot.getChapterExtensions().entrySet()) {
+            LoadDiagnostics.detail(LOGGER).setMessage("Chapter '{}' extended with {} entries: {}")
+                    .addArgument(entry.getKey()).addArgument(entry.getValue().size())
+                    .addArgument(() -> entry.getValue().stream().map(e -> e.getId().toString()).toList())
+                    .log();
         }
     }
 }
@@ -0,0 +1,352 @@
+package com.bluelotuscoding.eidolonunchained.data;
+
+import com.bluelotuscoding.eidolonunchained.codex.CodexEntry;
+import com.bluelotuscoding.eidolonunchained.codex.CodexPage;
+import com.bluelotuscoding.eidolonunchained.debug.LoadDiagnostics;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import net.minecraft.resources.ResourceLocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Streaming reader for codex entry files. Decodes the entry field by field and its pages one at a time,
+ * so no JSON tree of the whole file is ever built and memory use doesn't grow with the number of pages.
+ * Accepts exactly what the JSON tree loader accepted; unknown fields are skipped.
+ * <p>
+ * A file can also be a bundle of many entries: a JSON object with an "entries" array, or a .jsonl file with
+ * one entry object per line. Bundled entries name themselves with an "id" field.
+ */
+final class CodexEntryReader {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CodexEntryReader.class);
+
+    private CodexEntryReader() {}
+
+    /**
+     * Reads a .json file: a single entry whose id is {@code location}, or an "entries" bundle.
+     * Invalid content is returned as a failed file rather than thrown.
+     */
+    static List<CodexDataManager.ParsedFile> read(ResourceLocation location, Reader in) {
+        try (DepthReader reader = new DepthReader(in)) {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                LOGGER.warn("Skipping non-object JSON at {}", location);
+                return List.of(CodexDataManager.ParsedFile.skipped(location));
+            }
+            return readFile(location, reader);
+        } catch (IOException | RuntimeException e) {
+            return List.of(CodexDataManager.ParsedFile.failed(location, e));
+        }
+    }
+
+    /**
+     * Reads a .jsonl bundle. A bad line fails only its own entry; blank lines are ignored.
+     */
+    static List<CodexDataManager.ParsedFile> readLines(ResourceLocation location, BufferedReader in) {
+        List<CodexDataManager.ParsedFile> entries = new ArrayList<>();
+        int lineNumber = 0;
+        try {
+            String line;
+            while ((line = in.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try (DepthReader reader = new DepthReader(new StringReader(line))) {
+                    CodexDataManager.ParsedFile entry = readBundled(location, reader);
+                    entries.add(entry.error() == null ? entry : CodexDataManager.ParsedFile.failed(location,
+                            new JsonParseException("Line " + lineNumber + ": " + entry.error().getMessage(), entry.error())));
+                } catch (IOException | RuntimeException e) {
+                    entries.add(CodexDataManager.ParsedFile.failed(location,
+                            new JsonParseException("Line " + lineNumber + ": " + e.getMessage(), e)));
+                }
+            }
+        } catch (IOException e) {
+            entries.add(CodexDataManager.ParsedFile.failed(location, e));
+        }
+        return entries;
+    }
+
+    private static List<CodexDataManager.ParsedFile> readFile(ResourceLocation location, DepthReader reader) throws IOException {
+        EntryFields fields = readFields(reader, location);
+        if (fields.bundle == null) {
+            return List.of(toEntry(location, location, fields));
+        }
+        if (fields.targetChapter != null || fields.pages != null) {
+            throw new JsonParseException("A codex file has either 'entries' or a single entry's 'target_chapter' and 'pages', not both");
+        }
+        return fields.bundle;
+    }
+
+    /**
+     * Reads the entries of an "entries" array. Each entry is decoded before the next one is read.
+     * An entry that is valid JSON but not a valid entry fails on its own; broken JSON fails the whole file.
+     */
+    private static List<CodexDataManager.ParsedFile> readBundle(ResourceLocation location, DepthReader reader) throws IOException {
+        expect(reader, JsonToken.BEGIN_ARRAY, "entries");
+        List<CodexDataManager.ParsedFile> entries = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            entries.add(readBundled(location, reader));
+        }
+        reader.endArray();
+        return entries;
+    }
+
+    /**
+     * Reads one bundled entry. If the entry is invalid, the rest of it is skipped so the reader is left at the
+     * next entry, and the entry alone fails. Only IO errors, i.e. broken JSON, are thrown.
+     */
+    private static CodexDataManager.ParsedFile readBundled(ResourceLocation location, DepthReader reader) throws IOException {
+        JsonToken token = reader.peek();
+        if (token != JsonToken.BEGIN_OBJECT) {
+            String path = reader.getPath();
+            reader.skipValue();
+            return CodexDataManager.ParsedFile.failed(location,
+                    new JsonParseException("Expected entry to be " + JsonToken.BEGIN_OBJECT + ", was " + token + " at " + path));
+        }
+        int depth = reader.depth();
+        try {
+            EntryFields fields = readFields(reader, null);
+            return toBundledEntry(location, fields);
+        } catch (RuntimeException e) {
+            skipTo(reader, depth);
+            return CodexDataManager.ParsedFile.failed(location,
+                    e instanceof JsonParseException ? e : new JsonParseException(e.getMessage(), e));
+        }
+    }
+
+    /**
+     * Skips whatever is left of the entry being read until the reader is back at {@code depth}.
+     * Does nothing if the entry was already read to its end.
+     */
+    private static void skipTo(DepthReader reader, int depth) throws IOException {
+        while (reader.depth() > depth) {
+            switch (reader.peek()) {
+                case END_OBJECT -> reader.endObject();
+                case END_ARRAY -> reader.endArray();
+                default -> reader.skipValue();
+            }
+        }
+    }
+
+    private static CodexDataManager.ParsedFile toBundledEntry(ResourceLocation location, EntryFields fields) {
+        if (fields.id == null) {
+            throw new JsonParseException("Bundled codex entry in " + location + " is missing its 'id'");
+        }
+        // A bare path belongs to the bundle's namespace
+        String id = fields.id.contains(":") ? fields.id : location.getNamespace() + ":" + fields.id;
+        ResourceLocation entryId = ResourceLocation.tryParse(id);
+        if (entryId == null) {
+            throw new JsonParseException("Invalid codex entry id '" + fields.id + "' in " + location);
+        }
+        return toEntry(location, entryId, fields);
+    }
+
+    /**
+     * Top-level fields of one entry object, as read from the stream
+     */
+    private static final class EntryFields {
+        String id;
+        String targetChapter;
+        String title;
+        List<CodexPage> pages;
+        List<ResourceLocation> prerequisites = List.of();
+        int sortOrder;
+        int anchorPage = CodexEntry.ANCHOR_END;
+        List<CodexDataManager.ParsedFile> bundle;
+        final List<String> keys = new ArrayList<>();
+    }
+
+    /**
+     * Reads one entry object. {@code bundle} is the file an "entries" array may appear in, or null if it may not.
+     */
+    private static EntryFields readFields(DepthReader reader, ResourceLocation bundle) throws IOException {
+        EntryFields fields = new EntryFields();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            fields.keys.add(name);
+            switch (name) {
+                case "id" -> fields.id = readString(reader, name);
+                case "target_chapter" -> fields.targetChapter = readString(reader, name);
+                case "title" -> fields.title = readString(reader, name);
+                case "pages" -> fields.pages = readPages(reader);
+                case "prerequisites" -> fields.prerequisites = readPrerequisites(reader);
+                case "sort_order" -> fields.sortOrder = readInt(reader, name);
+                case "anchor_page" -> fields.anchorPage = readAnchor(reader);
+                case "entries" -> {
+                    if (bundle == null) {
+                        throw new JsonParseException("Bundled codex entries can't contain 'entries'");
+                    }
+                    fields.bundle = readBundle(bundle, reader);
+                }
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return fields;
+    }
+
+    private static CodexDataManager.ParsedFile toEntry(ResourceLocation file, ResourceLocation entryId, EntryFields fields) {
+        LoadDiagnostics.detail(LOGGER).log("Loading codex entry {} from {} with keys {}", entryId, file, fields.keys);
+
+        // Validate required fields
+        if (fields.targetChapter == null) {
+            throw new JsonParseException("Codex entry missing 'target_chapter' field");
+        }
+        if (fields.pages == null) {
+            throw new JsonParseException("Codex entry missing 'pages' field");
+        }
+
+        // Parse target chapter - support both direct field names and resource locations
+        String targetChapterStr = fields.targetChapter;
+        ResourceLocation targetChapter;
+        if (targetChapterStr.contains(":")) {
+            // It's a resource location like "eidolon:void_amulet"
+            targetChapter = ResourceLocation.tryParse(targetChapterStr);
+        } else {
+            // It's a direct field name like "VOID_AMULET" - convert to dummy resource location
+            targetChapter = ResourceLocation.tryParse("eidolon:" + targetChapterStr.toLowerCase(Locale.ROOT));
+        }
+        if (targetChapter == null) {
+            throw new JsonParseException("Invalid target_chapter format: " + targetChapterStr);
+        }
+
+        String title = fields.title != null ? fields.title : entryId.getPath();
+        CodexEntry entry = CodexEntry.fromDatapack(entryId, title, fields.pages, fields.prerequisites,
+                fields.sortOrder, fields.anchorPage);
+
+        LoadDiagnostics.detail(LOGGER).setMessage("Loaded codex entry '{}' with {} pages for chapter '{}' (target_chapter '{}')")
+                .addArgument(entryId).addArgument(fields.pages.size())
+                .addArgument(targetChapter).addArgument(targetChapterStr).log();
+
+        return new CodexDataManager.ParsedFile(entryId, targetChapter, entry, null);
+    }
+
+    /**
+     * Pages are decoded as they are read; the page list is the only thing that grows with the file
+     */
+    private static List<CodexPage> readPages(JsonReader reader) throws IOException {
+        expect(reader, JsonToken.BEGIN_ARRAY, "pages");
+        List<CodexPage> pages = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            pages.add(CodexPage.read(reader));
+        }
+        reader.endArray();
+        return pages;
+    }
+
+    private static List<ResourceLocation> readPrerequisites(JsonReader reader) throws IOException {
+        expect(reader, JsonToken.BEGIN_ARRAY, "prerequisites");
+        List<ResourceLocation> prerequisites = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            String value = readString(reader, "prerequisite");
+            ResourceLocation prerequisiteId = ResourceLocation.tryParse(value);
+            if (prerequisiteId == null) {
+                throw new JsonParseException("Invalid prerequisite '" + value + "'");
+            }
+            prerequisites.add(prerequisiteId);
+        }
+        reader.endArray();
+        return prerequisites;
+    }
+
+    /**
+     * Reads a string, number or boolean as a string, like {@code JsonElement.getAsString} did
+     */
+    private static String readString(JsonReader reader, String name) throws IOException {
+        JsonToken token = reader.peek();
+        if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(reader.nextBoolean());
+        }
+        if (token != JsonToken.STRING && token != JsonToken.NUMBER) {
+            throw new JsonParseException("Expected " + name + " to be a string, was " + token + " at " + reader.getPath());
+        }
+        return reader.nextString();
+    }
+
+    private static int readInt(JsonReader reader, String name) throws IOException {
+        JsonToken token = reader.peek();
+        if (token != JsonToken.NUMBER) {
+            throw new JsonParseException("Expected " + name + " to be a number, was " + token + " at " + reader.getPath());
+        }
+        return reader.nextInt();
+    }
+
+    /**
+     * Reads "anchor_page": the index of the chapter page to insert before, or "start" / "end"
+     */
+    private static int readAnchor(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.STRING) {
+            String anchor = reader.nextString();
+            return switch (anchor) {
+                case "start" -> 0;
+                case "end" -> CodexEntry.ANCHOR_END;
+                default -> throw new JsonParseException("Unknown anchor_page '" + anchor + "', expected a page index, 'start' or 'end'");
+            };
+        }
+        int anchor = readInt(reader, "anchor_page");
+        if (anchor < 0) {
+            throw new JsonParseException("anchor_page can't be negative: " + anchor);
+        }
+        return anchor;
+    }
+
+    private static void expect(JsonReader reader, JsonToken expected, String name) throws IOException {
+        JsonToken token = reader.peek();
+        if (token != expected) {
+            throw new JsonParseException("Expected " + name + " to be " + expected + ", was " + token + " at " + reader.getPath());
+        }
+    }
+
+    /**
+     * JsonReader that counts the objects and arrays it is inside of, so an invalid bundled entry can be
+     * skipped from wherever its decoding stopped. skipValue always skips a whole value and leaves the count as is.
+     */
+    private static final class DepthReader extends JsonReader {
+        private int depth;
+
+        DepthReader(Reader in) {
+            super(in);
+        }
+
+        int depth() {
+            return depth;
+        }
+
+        @Override
+        public void beginObject() throws IOException {
+            super.beginObject();
+            depth++;
+        }
+
+        @Override
+        public void endObject() throws IOException {
+            super.endObject();
+            depth--;
+        }
+
+        @Override
+        public void beginArray() throws IOException {
+            super.beginArray();
+            depth++;
+        }
+
+        @Override
+        public void endArray() throws IOException {
+            super.endArray();
+            depth--;
+        }
+    }
+}
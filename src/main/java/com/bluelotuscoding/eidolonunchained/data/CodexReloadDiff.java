@@ -0,0 +1,25 @@
+package com.bluelotuscoding.eidolonunchained.data;
+
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.Set;
+
+/**
+ * What changed between two codex snapshots: entries added, changed or removed since the previous
+ * reload, and every chapter that gained, lost or had an entry changed.
+ */
+public record CodexReloadDiff(long fromGeneration, Set<ResourceLocation> added, Set<ResourceLocation> changed,
+                              Set<ResourceLocation> removed, Set<ResourceLocation> affectedChapters) {
+    public static final CodexReloadDiff NONE = new CodexReloadDiff(0, Set.of(), Set.of(), Set.of(), Set.of());
+
+    public CodexReloadDiff {
+        added = Set.copyOf(added);
+        changed = Set.copyOf(changed);
+        removed = Set.copyOf(removed);
+        affectedChapters = Set.copyOf(affectedChapters);
+    }
+
+    public boolean isEmpty() {
+        return added.isEmpty() && changed.isEmpty() && removed.isEmpty();
+    }
+}
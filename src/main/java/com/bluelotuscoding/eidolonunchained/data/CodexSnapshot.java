@@ -0,0 +1,112 @@
+package com.bluelotuscoding.eidolonunchained.data;
+
+import com.bluelotuscoding.eidolonunchained.codex.CodexEntry;
+import com.google.common.hash.HashCode;
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable view of every codex entry loaded by one datapack reload.
+ * A new snapshot is built for each reload and published in a single volatile write, so readers
+ * never see a half-filled registry and can hold on to the maps without copying them.
+ */
+public final class CodexSnapshot {
+    public static final CodexSnapshot EMPTY = new Builder().build(0, CodexReloadDiff.NONE);
+
+    private final long generation;
+    private final Map<ResourceLocation, CodexEntry> entries;
+    private final Map<ResourceLocation, List<CodexEntry>> chapterExtensions;
+    private final Map<ResourceLocation, HashCode> contentHashes;
+    private final CodexReloadDiff diff;
+
+    private CodexSnapshot(long generation, Map<ResourceLocation, CodexEntry> entries,
+                          Map<ResourceLocation, List<CodexEntry>> chapterExtensions,
+                          Map<ResourceLocation, HashCode> contentHashes, CodexReloadDiff diff) {
+        this.generation = generation;
+        this.entries = entries;
+        this.chapterExtensions = chapterExtensions;
+        this.contentHashes = contentHashes;
+        this.diff = diff;
+    }
+
+    /**
+     * Increases by one every time a reload publishes a new snapshot
+     */
+    public long getGeneration() { return generation; }
+
+    /**
+     * All entries by id, in load order. Read-only.
+     */
+    public Map<ResourceLocation, CodexEntry> getEntries() { return entries; }
+
+    /**
+     * Entries grouped by the chapter they extend, each chapter in {@link CodexEntry#PLACEMENT_ORDER}. Read-only.
+     */
+    public Map<ResourceLocation, List<CodexEntry>> getChapterExtensions() { return chapterExtensions; }
+
+    public List<CodexEntry> getEntriesForChapter(ResourceLocation chapterId) {
+        return chapterExtensions.getOrDefault(chapterId, List.of());
+    }
+
+    /**
+     * Hash of the source data an entry was parsed from; equal hashes mean the entry did not change
+     */
+    public HashCode getContentHash(ResourceLocation entryId) {
+        return contentHashes.get(entryId);
+    }
+
+    /**
+     * Changes relative to the previous generation
+     */
+    public CodexReloadDiff getDiff() { return diff; }
+
+    /**
+     * Collects entries for a new snapshot. Not thread-safe; the finished snapshot is.
+     */
+    public static class Builder {
+        private final Map<ResourceLocation, CodexEntry> entries = new LinkedHashMap<>();
+        private final Map<ResourceLocation, List<CodexEntry>> chapterExtensions = new LinkedHashMap<>();
+        private final Map<ResourceLocation, HashCode> contentHashes = new HashMap<>();
+
+        /**
+         * Adds an entry, replacing any earlier entry with the same id
+         */
+        public Builder add(ResourceLocation targetChapter, CodexEntry entry, HashCode contentHash) {
+            CodexEntry replaced = entries.put(entry.getId(), entry);
+            if (replaced != null) {
+                chapterExtensions.values().forEach(list -> list.remove(replaced));
+            }
+            chapterExtensions.computeIfAbsent(targetChapter, k -> new ArrayList<>()).add(entry);
+            contentHashes.put(entry.getId(), contentHash);
+            return this;
+        }
+
+        public boolean contains(ResourceLocation entryId) {
+            return entries.containsKey(entryId);
+        }
+
+        public int size() {
+            return entries.size();
+        }
+
+        public CodexSnapshot build(long generation, CodexReloadDiff diff) {
+            // Sorting here, off the main thread, leaves injection a single merge per chapter
+            Map<ResourceLocation, List<CodexEntry>> chapters = new LinkedHashMap<>();
+            chapterExtensions.forEach((chapter, list) -> {
+                List<CodexEntry> sorted = new ArrayList<>(list);
+                sorted.sort(CodexEntry.PLACEMENT_ORDER);
+                chapters.put(chapter, List.copyOf(sorted));
+            });
+            return new CodexSnapshot(generation,
+                    Collections.unmodifiableMap(new LinkedHashMap<>(entries)),
+                    Collections.unmodifiableMap(chapters),
+                    Map.copyOf(contentHashes), diff);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.bluelotuscoding.eidolonunchained.data;
+
+import com.bluelotuscoding.eidolonunchained.EidolonUnchained;
+import com.bluelotuscoding.eidolonunchained.integration.ReferenceCache;
+import com.mojang.logging.LogUtils;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraftforge.event.OnDatapackSyncEvent;
+import net.minecraftforge.event.server.ServerStartedEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Recipe ids mapped to their output, and outputs mapped back to the recipes that make them.
+ * Built once from the {@link RecipeManager} whenever recipes are (re)loaded, so codex pages can resolve
+ * any recipe id with a single lookup. Immutable; a rebuild publishes a new index.
+ */
+@Mod.EventBusSubscriber(modid = EidolonUnchained.MODID, bus = Mod.EventBusSubscriber.Bus.FORGE)
+public final class RecipeIndex {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    public static final RecipeIndex EMPTY = new RecipeIndex(false, Set.of(), Map.of(), Map.of());
+
+    private static volatile RecipeIndex INDEX = EMPTY;
+
+    private final boolean loaded;
+    private final Set<ResourceLocation> recipes;
+    private final Map<ResourceLocation, ItemStack> outputs;
+    private final Map<Item, List<ResourceLocation>> recipesByOutput;
+
+    private RecipeIndex(boolean loaded, Set<ResourceLocation> recipes, Map<ResourceLocation, ItemStack> outputs,
+                        Map<Item, List<ResourceLocation>> recipesByOutput) {
+        this.loaded = loaded;
+        this.recipes = recipes;
+        this.outputs = outputs;
+        this.recipesByOutput = recipesByOutput;
+    }
+
+    @SubscribeEvent
+    public static void onServerStarted(ServerStartedEvent event) {
+        rebuild(event.getServer().getRecipeManager(), event.getServer().registryAccess());
+    }
+
+    @SubscribeEvent
+    public static void onDatapackSync(OnDatapackSyncEvent event) {
+        if (event.getPlayer() == null) {
+            // After /reload
+            rebuild(event.getPlayerList().getServer().getRecipeManager(), event.getPlayerList().getServer().registryAccess());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        INDEX = EMPTY;
+        ReferenceCache.invalidate();
+    }
+
+    /**
+     * Gets the current index; {@link #EMPTY} until recipes are loaded
+     */
+    public static RecipeIndex get() {
+        return INDEX;
+    }
+
+    /**
+     * Indexes every recipe in the manager and publishes the result
+     */
+    public static RecipeIndex rebuild(RecipeManager recipeManager, RegistryAccess registries) {
+        long start = System.nanoTime();
+        Set<ResourceLocation> recipes = new HashSet<>();
+        Map<ResourceLocation, ItemStack> outputs = new HashMap<>();
+        Map<Item, List<ResourceLocation>> recipesByOutput = new HashMap<>();
+        int failed = 0;
+
+        for (Recipe<?> recipe : recipeManager.getRecipes()) {
+            recipes.add(recipe.getId());
+            ItemStack output;
+            try {
+                output = recipe.getResultItem(registries);
+            } catch (RuntimeException e) {
+                // Some special recipes have no fixed output and don't expect to be asked
+                failed++;
+                continue;
+            }
+            if (output == null || output.isEmpty()) {
+                continue;
+            }
+            outputs.put(recipe.getId(), output.copy());
+            recipesByOutput.computeIfAbsent(output.getItem(), k -> new ArrayList<>()).add(recipe.getId());
+        }
+
+        Map<Item, List<ResourceLocation>> frozen = new HashMap<>();
+        recipesByOutput.forEach((item, ids) -> frozen.put(item, List.copyOf(ids)));
+        RecipeIndex index = new RecipeIndex(true, Set.copyOf(recipes), Map.copyOf(outputs), Map.copyOf(frozen));
+        INDEX = index;
+        ReferenceCache.invalidate();
+        LOGGER.debug("Indexed {} recipes ({} with an output, {} failed) in {} ms",
+                recipes.size(), outputs.size(), failed, (System.nanoTime() - start) / 1_000_000);
+        return index;
+    }
+
+    /**
+     * Whether recipes have been indexed yet. Before that every lookup misses.
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public boolean hasRecipe(ResourceLocation recipeId) {
+        return recipes.contains(recipeId);
+    }
+
+    /**
+     * Gets a copy of a recipe's output, or an empty stack if the recipe doesn't exist or has no fixed output
+     */
+    public ItemStack getOutput(ResourceLocation recipeId) {
+        ItemStack output = outputs.get(recipeId);
+        return output != null ? output.copy() : ItemStack.EMPTY;
+    }
+
+    /**
+     * Gets the ids of every recipe that makes an item
+     */
+    public List<ResourceLocation> getRecipesFor(Item item) {
+        return recipesByOutput.getOrDefault(item, List.of());
+    }
+
+    public int size() {
+        return recipes.size();
+    }
+}
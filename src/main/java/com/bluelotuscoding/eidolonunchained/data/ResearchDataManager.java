@@ -1,17 +1,26 @@
 package com.bluelotuscoding.eidolonunchained.data;
 
 import com.bluelotuscoding.eidolonunchained.EidolonUnchained;
+import com.bluelotuscoding.eidolonunchained.debug.LoadDiagnostics;
+import com.bluelotuscoding.eidolonunchained.debug.ReloadMetrics;
+import com.bluelotuscoding.eidolonunchained.research.DependencyReport;
 import com.bluelotuscoding.eidolonunchained.research.ResearchEntry;
 import com.bluelotuscoding.eidolonunchained.research.ResearchChapter;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.FileToIdConverter;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.resources.Resource;
 import net.minecraft.server.packs.resources.ResourceManager;
-import net.minecraft.server.packs.resources.SimpleJsonResourceReloadListener;
+import net.minecraft.server.packs.resources.SimplePreparableReloadListener;
+import net.minecraft.util.GsonHelper;
 import net.minecraft.util.profiling.ProfilerFiller;
+import net.minecraft.world.item.ItemStack;
 import net.minecraftforge.event.AddReloadListenerEvent;
 import net.minecraftforge.event.server.ServerStartedEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
@@ -19,30 +28,38 @@ import net.minecraftforge.fml.common.Mod;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.ArrayList;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
 
 /**
  * Manages loading and registration of custom research entries and chapters from datapacks.
  * This extends Eidolon's research system (separate from the codex system).
  */
 @Mod.EventBusSubscriber(modid = EidolonUnchained.MODID, bus = Mod.EventBusSubscriber.Bus.FORGE)
-public class ResearchDataManager extends SimpleJsonResourceReloadListener {
+public class ResearchDataManager extends SimplePreparableReloadListener<ResearchDataManager.PreparedResearch> {
     
     private static final Logger LOGGER = LoggerFactory.getLogger(ResearchDataManager.class);
     private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final FileToIdConverter LISTER = FileToIdConverter.json("research_entries");
     
-    // Storage for loaded research data
-    private static final Map<ResourceLocation, ResearchChapter> LOADED_RESEARCH_CHAPTERS = new HashMap<>();
-    private static final Map<ResourceLocation, List<ResearchEntry>> RESEARCH_EXTENSIONS = new HashMap<>();
-    private static final Map<ResourceLocation, ResearchEntry> LOADED_RESEARCH_ENTRIES = new HashMap<>();
+    // Loaded research data, replaced as a whole on every reload
+    private static volatile ResearchSnapshot SNAPSHOT = ResearchSnapshot.EMPTY;
     
     private static ResearchDataManager INSTANCE;
     
+    // Fields parsed into ResearchChapter/ResearchEntry properties; the rest is kept as additional data
+    private static final Set<String> CHAPTER_FIELDS = Set.of("id", "chapter_id", "title", "description", "icon",
+            "sort_order", "secret", "background");
+    private static final Set<String> ENTRY_FIELDS = Set.of("id", "research_id", "title", "description", "icon",
+            "chapter", "prerequisites", "unlocks", "x", "y", "type");
+    
     public ResearchDataManager() {
-        super(GSON, "research_entries");
         INSTANCE = this;
     }
     
@@ -70,31 +87,53 @@ public class ResearchDataManager extends SimpleJsonResourceReloadListener {
     
     @SubscribeEvent
     public static void onServerStarted(ServerStartedEvent event) {
+        ResearchSnapshot snapshot = SNAPSHOT;
         LOGGER.info("Server started - loaded {} custom research chapters and {} research entries", 
-                   LOADED_RESEARCH_CHAPTERS.size(), LOADED_RESEARCH_ENTRIES.size());
+                   snapshot.getChapters().size(), snapshot.getEntries().size());
         
         // Log all loaded content for debugging
-        if (!LOADED_RESEARCH_CHAPTERS.isEmpty()) {
-            LOGGER.info("Custom research chapters: {}", LOADED_RESEARCH_CHAPTERS.keySet());
+        if (!snapshot.getChapters().isEmpty()) {
+            LoadDiagnostics.detail(LOGGER).log("Custom research chapters: {}", snapshot.getChapters().keySet());
         }
-        if (!LOADED_RESEARCH_ENTRIES.isEmpty()) {
-            LOGGER.info("Custom research entries: {}", LOADED_RESEARCH_ENTRIES.keySet());
+        if (!snapshot.getEntries().isEmpty()) {
+            LoadDiagnostics.detail(LOGGER).log("Custom research entries: {}", snapshot.getEntries().keySet());
         }
     }
     
+    /**
+     * Reads, loads and validates every research file on the reload worker thread, so {@link #apply}
+     * only has to publish the result
+     */
     @Override
-    protected void apply(Map<ResourceLocation, JsonElement> resourceLocationJsonObjectMap, 
-                        ResourceManager resourceManager, ProfilerFiller profilerFiller) {
-        
-        LOADED_RESEARCH_CHAPTERS.clear();
-        RESEARCH_EXTENSIONS.clear();
-        LOADED_RESEARCH_ENTRIES.clear();
+    protected PreparedResearch prepare(ResourceManager resourceManager, ProfilerFiller profilerFiller) {
+        // Sorted by location, so later files override earlier ones the same way on every reload
+        Map<ResourceLocation, JsonElement> files = new TreeMap<>();
+        for (Map.Entry<ResourceLocation, Resource> resource : LISTER.listMatchingResources(resourceManager).entrySet()) {
+            ResourceLocation location = LISTER.fileToId(resource.getKey());
+            try (Reader reader = resource.getValue().openAsReader()) {
+                JsonElement json = GsonHelper.fromJson(GSON, reader, JsonElement.class);
+                if (json == null) {
+                    throw new JsonParseException("Empty file");
+                }
+                files.put(location, json);
+            } catch (IOException | RuntimeException e) {
+                LOGGER.error("Couldn't parse data file {} from {}", location, resource.getKey(), e);
+            }
+        }
+        return compile(files);
+    }
+    
+    /**
+     * Loads parsed research files into the next snapshot, without publishing anything
+     */
+    PreparedResearch compile(Map<ResourceLocation, JsonElement> files) {
+        ResearchSnapshot.Builder builder = new ResearchSnapshot.Builder();
         
         int loadedChapters = 0;
         int loadedEntries = 0;
         int errors = 0;
         
-        for (Map.Entry<ResourceLocation, JsonElement> entry : resourceLocationJsonObjectMap.entrySet()) {
+        for (Map.Entry<ResourceLocation, JsonElement> entry : files.entrySet()) {
             ResourceLocation resourceLocation = entry.getKey();
             JsonElement jsonElement = entry.getValue();
             
@@ -106,16 +145,12 @@ public class ResearchDataManager extends SimpleJsonResourceReloadListener {
             JsonObject json = jsonElement.getAsJsonObject();
             
             try {
-                String path = resourceLocation.getPath();
-                
-                if (path.startsWith("research_chapters/")) {
-                    loadResearchChapter(resourceLocation, json);
+                if (isChapterFile(resourceLocation)) {
+                    loadResearchChapter(resourceLocation, json, builder);
                     loadedChapters++;
-                } else if (path.startsWith("research_entries/")) {
-                    loadResearchEntry(resourceLocation, json);
-                    loadedEntries++;
                 } else {
-                    LOGGER.debug("Skipping unrecognized research data at {}", resourceLocation);
+                    loadResearchEntry(resourceLocation, json, builder);
+                    loadedEntries++;
                 }
                 
             } catch (Exception e) {
@@ -124,106 +159,254 @@ public class ResearchDataManager extends SimpleJsonResourceReloadListener {
             }
         }
         
-        LOGGER.info("Loaded {} research chapters, {} research entries with {} errors", 
-                   loadedChapters, loadedEntries, errors);
+        // Reloads never overlap, so the generation is still current when apply publishes the snapshot
+        ResearchSnapshot snapshot = builder.build(SNAPSHOT.getGeneration() + 1);
+        // Prerequisites in Eidolon's namespace are its built-in research
+        DependencyReport report = DependencyReport.of(snapshot.getGraph(), id -> "eidolon".equals(id.getNamespace()));
+        report.log(LOGGER, "research");
+        errors += report.cycles().size() + report.unknownReferences().size();
+        
+        LOGGER.info("Loaded {} research chapters, {} research entries with {} errors (generation {})", 
+                   loadedChapters, loadedEntries, errors, snapshot.getGeneration());
+        return new PreparedResearch(snapshot, loadedChapters, loadedEntries, errors);
+    }
+    
+    /**
+     * Publishes the snapshot built by prepare
+     */
+    @Override
+    protected void apply(PreparedResearch prepared, ResourceManager resourceManager, ProfilerFiller profilerFiller) {
+        SNAPSHOT = prepared.snapshot();
+        // Counted here rather than in prepare, which may run before the codex listener resets the metrics
+        ReloadMetrics.add(ReloadMetrics.Counter.RESEARCH_CHAPTERS, prepared.chapters());
+        ReloadMetrics.add(ReloadMetrics.Counter.RESEARCH_ENTRIES, prepared.entries());
+        ReloadMetrics.add(ReloadMetrics.Counter.ERRORS, prepared.errors());
+    }
+    
+    /**
+     * What prepare hands to apply: the finished snapshot and the counts for the reload metrics
+     */
+    record PreparedResearch(ResearchSnapshot snapshot, int chapters, int entries, int errors) {}
+
+    /**
+     * Chapters live in a "chapters/" (or "research_chapters/") folder under research_entries; everything else is an entry
+     */
+    private static boolean isChapterFile(ResourceLocation location) {
+        String path = location.getPath();
+        return path.startsWith("chapters/") || path.startsWith("research_chapters/");
     }
 
     /**
      * Loads a custom research chapter from JSON
      */
-    private void loadResearchChapter(ResourceLocation location, JsonObject json) {
-        try {
-            // This would parse the JSON and create ResearchChapter objects
-            // For now, just store the location as a placeholder
-            if (!json.has("id")) {
-                LOGGER.warn("Research chapter at {} missing required 'id' field", location);
-                return;
+    private void loadResearchChapter(ResourceLocation location, JsonObject json, ResearchSnapshot.Builder builder) {
+        ResourceLocation chapterId = readId(json, location, "id", "chapter_id");
+        ResearchChapter.Builder chapter = new ResearchChapter.Builder(chapterId)
+                .title(readText(json, "title", chapterId))
+                .description(readText(json, "description", null))
+                .icon(readIcon(json))
+                .sortOrder(GsonHelper.getAsInt(json, "sort_order", 0))
+                .secret(GsonHelper.getAsBoolean(json, "secret", false));
+        if (json.has("background")) {
+            chapter.background(readLocation(json, "background"));
+        }
+        copyExtraFields(json, CHAPTER_FIELDS, chapter::additionalData);
+
+        if (builder.hasChapter(chapterId)) {
+            LOGGER.warn("Research chapter {} at {} replaces an earlier definition", chapterId, location);
+        }
+        builder.chapter(chapterId, chapter.build());
+        LoadDiagnostics.detail(LOGGER).log("Loaded research chapter {} from {}", chapterId, location);
+    }
+
+    /**
+     * Loads a custom research entry from JSON. "target_research", the research an entry extends,
+     * counts as a prerequisite alongside the "prerequisites" list.
+     */
+    private void loadResearchEntry(ResourceLocation location, JsonObject json, ResearchSnapshot.Builder builder) {
+        ResourceLocation entryId = readId(json, location, "id", "research_id");
+        ResearchEntry.Builder entry = new ResearchEntry.Builder(entryId)
+                .title(readText(json, "title", entryId))
+                .description(readText(json, "description", null))
+                .icon(readIcon(json))
+                .position(GsonHelper.getAsInt(json, "x", 0), GsonHelper.getAsInt(json, "y", 0))
+                .type(readType(json));
+        if (json.has("chapter")) {
+            entry.chapter(readLocation(json, "chapter"));
+        }
+
+        Set<ResourceLocation> prerequisites = new LinkedHashSet<>();
+        if (json.has("target_research")) {
+            prerequisites.add(readLocation(json, "target_research"));
+        }
+        for (JsonElement element : GsonHelper.getAsJsonArray(json, "prerequisites", new JsonArray())) {
+            prerequisites.add(parseLocation(GsonHelper.convertToString(element, "prerequisite")));
+        }
+        prerequisites.forEach(entry::prerequisite);
+        for (JsonElement element : GsonHelper.getAsJsonArray(json, "unlocks", new JsonArray())) {
+            entry.unlock(parseLocation(GsonHelper.convertToString(element, "unlock")));
+        }
+        copyExtraFields(json, ENTRY_FIELDS, entry::additionalData);
+
+        ResearchEntry research = entry.build();
+        if (builder.hasEntry(entryId)) {
+            LOGGER.warn("Research entry {} at {} replaces an earlier definition", entryId, location);
+        }
+        builder.entry(entryId, research);
+        if (research.getChapter() != null) {
+            builder.extension(research.getChapter(), research);
+        }
+        LoadDiagnostics.detail(LOGGER).log("Loaded research entry {} from {} with {} prerequisites",
+                entryId, location, research.getPrerequisites().size());
+    }
+
+    /**
+     * Reads the first id field present, or falls back to the file location
+     */
+    private static ResourceLocation readId(JsonObject json, ResourceLocation location, String... fields) {
+        for (String field : fields) {
+            if (json.has(field)) {
+                return readLocation(json, field);
+            }
+        }
+        return location;
+    }
+
+    private static ResourceLocation readLocation(JsonObject json, String field) {
+        return parseLocation(GsonHelper.getAsString(json, field));
+    }
+
+    private static ResourceLocation parseLocation(String value) {
+        ResourceLocation id = ResourceLocation.tryParse(value);
+        if (id == null) {
+            throw new JsonParseException("Invalid resource location '" + value + "'");
+        }
+        return id;
+    }
+
+    private static Component readText(JsonObject json, String field, ResourceLocation fallback) {
+        if (json.has(field)) {
+            return Component.translatable(GsonHelper.getAsString(json, field));
+        }
+        return fallback != null ? Component.literal(fallback.toString()) : Component.empty();
+    }
+
+    /**
+     * Reads "icon" as either an item id or an object with "item" and optional "count"
+     */
+    private static ItemStack readIcon(JsonObject json) {
+        if (!json.has("icon")) {
+            return ItemStack.EMPTY;
+        }
+        JsonElement icon = json.get("icon");
+        if (icon.isJsonObject()) {
+            JsonObject object = icon.getAsJsonObject();
+            return new ItemStack(GsonHelper.getAsItem(object, "item"), GsonHelper.getAsInt(object, "count", 1));
+        }
+        return new ItemStack(GsonHelper.convertToItem(icon, "icon"));
+    }
+
+    private static ResearchEntry.ResearchType readType(JsonObject json) {
+        String type = GsonHelper.getAsString(json, "type", ResearchEntry.ResearchType.BASIC.getName());
+        for (ResearchEntry.ResearchType candidate : ResearchEntry.ResearchType.values()) {
+            if (candidate.getName().equalsIgnoreCase(type)) {
+                return candidate;
             }
-            
-            ResourceLocation chapterId = ResourceLocation.tryParse(json.get("id").getAsString());
-            LOADED_RESEARCH_CHAPTERS.put(chapterId, null); // Placeholder for now
-            
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to load research chapter from " + location, e);
         }
+        throw new JsonParseException("Unknown research type '" + type + "'");
     }
 
     /**
-     * Loads a custom research entry from JSON
+     * Keeps fields the loader doesn't model (required_stars, tasks, ...) as additional data
      */
-    private void loadResearchEntry(ResourceLocation location, JsonObject json) {
-        try {
-            // This would parse the JSON and create ResearchEntry objects
-            // For now, just store the location as a placeholder
-            if (!json.has("id")) {
-                LOGGER.warn("Research entry at {} missing required 'id' field", location);
-                return;
+    private static void copyExtraFields(JsonObject json, Set<String> known, BiConsumer<String, JsonElement> sink) {
+        for (Map.Entry<String, JsonElement> field : json.entrySet()) {
+            if (!known.contains(field.getKey())) {
+                sink.accept(field.getKey(), field.getValue().deepCopy());
             }
-            
-            ResourceLocation entryId = ResourceLocation.tryParse(json.get("id").getAsString());
-            LOADED_RESEARCH_ENTRIES.put(entryId, null); // Placeholder for now
-            
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to load research entry from " + location, e);
         }
     }
 
     // Public API methods for accessing loaded research data
     
     /**
-     * Gets all loaded research chapters
+     * Publishes research received from the server, replacing whatever this client loaded itself
+     */
+    public static void publishSynced(ResearchSnapshot.Builder builder) {
+        SNAPSHOT = builder.build(SNAPSHOT.getGeneration() + 1);
+        LOGGER.info("Received {} research chapters and {} research entries from the server (generation {})",
+                   SNAPSHOT.getChapters().size(), SNAPSHOT.getEntries().size(), SNAPSHOT.getGeneration());
+    }
+    
+    /**
+     * Gets the current research registry snapshot. The snapshot never changes; a reload publishes a new one.
+     */
+    public static ResearchSnapshot getSnapshot() {
+        return SNAPSHOT;
+    }
+    
+    /**
+     * Gets the generation of the current snapshot, increased by every reload
+     */
+    public static long getGeneration() {
+        return SNAPSHOT.getGeneration();
+    }
+    
+    /**
+     * Gets all loaded research chapters (read-only)
      */
     public static Map<ResourceLocation, ResearchChapter> getLoadedResearchChapters() {
-        return new HashMap<>(LOADED_RESEARCH_CHAPTERS);
+        return SNAPSHOT.getChapters();
     }
     
     /**
-     * Gets all loaded research entries
+     * Gets all loaded research entries (read-only)
      */
     public static Map<ResourceLocation, ResearchEntry> getLoadedResearchEntries() {
-        return new HashMap<>(LOADED_RESEARCH_ENTRIES);
+        return SNAPSHOT.getEntries();
     }
     
     /**
-     * Gets research extensions by chapter
+     * Gets research extensions by chapter (read-only)
      */
     public static Map<ResourceLocation, List<ResearchEntry>> getResearchExtensions() {
-        return new HashMap<>(RESEARCH_EXTENSIONS);
+        return SNAPSHOT.getExtensions();
     }
     
     /**
      * Gets a specific research chapter by ID
      */
     public static ResearchChapter getResearchChapter(ResourceLocation id) {
-        return LOADED_RESEARCH_CHAPTERS.get(id);
+        return SNAPSHOT.getChapters().get(id);
     }
     
     /**
      * Gets a specific research entry by ID
      */
     public static ResearchEntry getResearchEntry(ResourceLocation id) {
-        return LOADED_RESEARCH_ENTRIES.get(id);
+        return SNAPSHOT.getEntries().get(id);
     }
     
     /**
      * Checks if a research chapter exists
      */
     public static boolean hasResearchChapter(ResourceLocation id) {
-        return LOADED_RESEARCH_CHAPTERS.containsKey(id);
+        return SNAPSHOT.getChapters().containsKey(id);
     }
     
     /**
      * Checks if a research entry exists
      */
     public static boolean hasResearchEntry(ResourceLocation id) {
-        return LOADED_RESEARCH_ENTRIES.containsKey(id);
+        return SNAPSHOT.getEntries().containsKey(id);
     }
     
     /**
      * Log loaded data for debugging
      */
     public static void logLoadedData() {
+        ResearchSnapshot snapshot = SNAPSHOT;
         LOGGER.info("Server started - loaded {} custom research chapters and {} research entries", 
-                   LOADED_RESEARCH_CHAPTERS.size(), LOADED_RESEARCH_ENTRIES.size());
+                   snapshot.getChapters().size(), snapshot.getEntries().size());
     }
 }
@@ -0,0 +1,110 @@
+package com.bluelotuscoding.eidolonunchained.data;
+
+import com.bluelotuscoding.eidolonunchained.research.ResearchChapter;
+import com.bluelotuscoding.eidolonunchained.research.ResearchEntry;
+import com.bluelotuscoding.eidolonunchained.research.ResearchGraph;
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable view of the research chapters and entries loaded by one datapack reload.
+ * Published by {@link ResearchDataManager} in a single volatile write, like {@link CodexSnapshot}.
+ */
+public final class ResearchSnapshot {
+    public static final ResearchSnapshot EMPTY = new Builder().build(0);
+
+    private final long generation;
+    private final Map<ResourceLocation, ResearchChapter> chapters;
+    private final Map<ResourceLocation, List<ResearchEntry>> extensions;
+    private final Map<ResourceLocation, ResearchEntry> entries;
+    private final ResearchGraph graph;
+
+    private ResearchSnapshot(long generation, Map<ResourceLocation, ResearchChapter> chapters,
+                             Map<ResourceLocation, List<ResearchEntry>> extensions,
+                             Map<ResourceLocation, ResearchEntry> entries, ResearchGraph graph) {
+        this.generation = generation;
+        this.chapters = chapters;
+        this.extensions = extensions;
+        this.entries = entries;
+        this.graph = graph;
+    }
+
+    /**
+     * Increases by one every time a reload publishes a new snapshot
+     */
+    public long getGeneration() { return generation; }
+
+    /**
+     * Research chapters by id. Read-only.
+     */
+    public Map<ResourceLocation, ResearchChapter> getChapters() { return chapters; }
+
+    /**
+     * Research entries grouped by chapter. Read-only.
+     */
+    public Map<ResourceLocation, List<ResearchEntry>> getExtensions() { return extensions; }
+
+    /**
+     * Research entries by id. Read-only.
+     */
+    public Map<ResourceLocation, ResearchEntry> getEntries() { return entries; }
+
+    /**
+     * Prerequisite graph of the entries, for unlock checks
+     */
+    public ResearchGraph getGraph() { return graph; }
+
+    /**
+     * Collects research data for a new snapshot. Not thread-safe; the finished snapshot is.
+     */
+    public static class Builder {
+        private final Map<ResourceLocation, ResearchChapter> chapters = new LinkedHashMap<>();
+        private final Map<ResourceLocation, List<ResearchEntry>> extensions = new LinkedHashMap<>();
+        private final Map<ResourceLocation, ResearchEntry> entries = new LinkedHashMap<>();
+
+        public Builder chapter(ResourceLocation id, ResearchChapter chapter) {
+            chapters.put(id, chapter);
+            return this;
+        }
+
+        public Builder entry(ResourceLocation id, ResearchEntry entry) {
+            ResearchEntry replaced = entries.put(id, entry);
+            if (replaced != null && replaced.getChapter() != null) {
+                List<ResearchEntry> grouped = extensions.get(replaced.getChapter());
+                if (grouped != null) {
+                    grouped.remove(replaced);
+                }
+            }
+            return this;
+        }
+
+        public boolean hasChapter(ResourceLocation id) {
+            return chapters.containsKey(id);
+        }
+
+        public boolean hasEntry(ResourceLocation id) {
+            return entries.containsKey(id);
+        }
+
+        public Builder extension(ResourceLocation chapterId, ResearchEntry entry) {
+            extensions.computeIfAbsent(chapterId, k -> new ArrayList<>()).add(entry);
+            return this;
+        }
+
+        public ResearchSnapshot build(long generation) {
+            Map<ResourceLocation, List<ResearchEntry>> grouped = new LinkedHashMap<>();
+            extensions.forEach((chapter, list) -> grouped.put(chapter, Collections.unmodifiableList(new ArrayList<>(list))));
+            // LinkedHashMap rather than Map.copyOf to keep load order
+            return new ResearchSnapshot(generation,
+                    Collections.unmodifiableMap(new LinkedHashMap<>(chapters)),
+                    Collections.unmodifiableMap(grouped),
+                    Collections.unmodifiableMap(new LinkedHashMap<>(entries)),
+                    ResearchGraph.build(entries.values()));
+        }
+    }
+}
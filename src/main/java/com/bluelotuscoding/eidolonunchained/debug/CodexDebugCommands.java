@@ -11,6 +11,8 @@ import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 import org.slf4j.Logger;
 
+import java.util.Locale;
+
 /**
  * Debug utilities for testing the codex translation system
  */
@@ -33,6 +35,16 @@ public class CodexDebugCommands {
                         reloadCodex(context.getSource());
                         return 1;
                     }))
+                .then(Commands.literal("stats")
+                    .executes(context -> {
+                        showStats(context.getSource());
+                        return 1;
+                    })
+                    .then(Commands.literal("json")
+                        .executes(context -> {
+                            writeStats(context.getSource());
+                            return 1;
+                        })))
         );
     }
 
@@ -58,6 +70,40 @@ public class CodexDebugCommands {
         source.sendSuccess(() -> Component.literal("Translation test complete - check logs for details"), false);
     }
 
+    private static void showStats(CommandSourceStack source) {
+        long startedAt = ReloadMetrics.getReloadStartedAt();
+        if (startedAt == 0) {
+            source.sendSuccess(() -> Component.literal("§7No datapack reload recorded yet"), false);
+            return;
+        }
+        long secondsAgo = (System.currentTimeMillis() - startedAt) / 1000;
+        source.sendSuccess(() -> Component.literal("§6Last reload §7(" + secondsAgo + "s ago)"), false);
+
+        StringBuilder times = new StringBuilder("§7Time:");
+        for (ReloadMetrics.Timer timer : ReloadMetrics.Timer.values()) {
+            times.append(String.format(Locale.ROOT, " %s §f%.1fms§7", timer.name().toLowerCase(Locale.ROOT),
+                    ReloadMetrics.getNanos(timer) / 1_000_000.0));
+        }
+        source.sendSuccess(() -> Component.literal(times.toString()), false);
+
+        StringBuilder counters = new StringBuilder("§7Counts:");
+        for (ReloadMetrics.Counter counter : ReloadMetrics.Counter.values()) {
+            counters.append(' ').append(counter.name().toLowerCase(Locale.ROOT))
+                    .append(" §f").append(ReloadMetrics.get(counter)).append("§7");
+        }
+        source.sendSuccess(() -> Component.literal(counters.toString()), false);
+
+        StringBuilder pages = new StringBuilder("§7Pages:");
+        ReloadMetrics.getPagesByType().forEach((type, count) ->
+                pages.append(' ').append(type).append(" §f").append(count).append("§7"));
+        source.sendSuccess(() -> Component.literal(pages.toString()), false);
+    }
+
+    private static void writeStats(CommandSourceStack source) {
+        ReloadMetrics.writeJsonAsync();
+        source.sendSuccess(() -> Component.literal("§7Writing reload stats to §f" + ReloadMetrics.getStatsPath()), false);
+    }
+
     private static void reloadCodex(CommandSourceStack source) {
         source.sendSuccess(() -> Component.literal("Attempting to reload codex integration..."), false);
         
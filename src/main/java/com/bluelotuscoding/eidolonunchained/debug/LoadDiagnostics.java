@@ -0,0 +1,34 @@
+package com.bluelotuscoding.eidolonunchained.debug;
+
+import com.bluelotuscoding.eidolonunchained.Config;
+import org.slf4j.Logger;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+import org.slf4j.spi.LoggingEventBuilder;
+import org.slf4j.spi.NOPLoggingEventBuilder;
+
+/**
+ * Per-file and per-entry logging for the datapack load path.
+ * Detail lines are only built when {@code enableDebugMode} is on, and they carry the {@link #DETAIL} marker
+ * so they can be filtered in the log configuration. Pass expensive arguments as suppliers:
+ * <pre>
+ * LoadDiagnostics.detail(LOGGER).setMessage("Keys in {}: {}").addArgument(location).addArgument(json::keySet).log();
+ * </pre>
+ * With debug mode off this is a no-op that never calls the supplier or formats the message.
+ */
+public final class LoadDiagnostics {
+    public static final Marker DETAIL = MarkerFactory.getMarker("EIDOLONUNCHAINED_LOAD_DETAIL");
+
+    private LoadDiagnostics() {}
+
+    public static boolean isDetailEnabled() {
+        return Config.enableDebugMode;
+    }
+
+    /**
+     * Starts a detail log line at INFO, or a no-op builder when debug mode is off
+     */
+    public static LoggingEventBuilder detail(Logger logger) {
+        return isDetailEnabled() ? logger.atInfo().addMarker(DETAIL) : NOPLoggingEventBuilder.singleton();
+    }
+}
@@ -0,0 +1,182 @@
+package com.bluelotuscoding.eidolonunchained.debug;
+
+import com.bluelotuscoding.eidolonunchained.Config;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.mojang.logging.LogUtils;
+import net.minecraft.Util;
+import net.minecraftforge.fml.loading.FMLPaths;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Timings and counters for the most recent datapack reload, shown by {@code /eidolonunchained stats}.
+ * Everything is reset when a codex reload starts, so page conversion and chapter injection that
+ * happen after the reload are counted towards it. Times measured on several worker threads are summed.
+ */
+public final class ReloadMetrics {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    public enum Timer {
+        /** Reading codex files from the packs */
+        READ,
+        /** Parsing codex files into entries */
+        PARSE,
+        /** Merging entries into the snapshot and validating them */
+        VALIDATE,
+        /** Converting entries to Eidolon pages */
+        CONVERT,
+        /** Adding pages to Eidolon's chapters */
+        INJECT
+    }
+
+    public enum Counter {
+        FILES,
+        BYTES_READ,
+        ENTRIES,
+        ERRORS,
+        RESEARCH_CHAPTERS,
+        RESEARCH_ENTRIES,
+        PAGES_CONVERTED,
+        FALLBACK_PAGES
+    }
+
+    private static final LongAdder[] TIMES = newAdders(Timer.values().length);
+    private static final LongAdder[] COUNTS = newAdders(Counter.values().length);
+    private static final Map<String, LongAdder> PAGES_BY_TYPE = new ConcurrentHashMap<>();
+    private static volatile long reloadStartedAt;
+
+    private ReloadMetrics() {}
+
+    private static LongAdder[] newAdders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i < count; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    /**
+     * Clears all values; called when a codex reload starts
+     */
+    public static void reset() {
+        for (LongAdder adder : TIMES) {
+            adder.reset();
+        }
+        for (LongAdder adder : COUNTS) {
+            adder.reset();
+        }
+        PAGES_BY_TYPE.clear();
+        reloadStartedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Adds the time since {@code startNanos} (from {@link System#nanoTime()}) to a timer
+     */
+    public static void stop(Timer timer, long startNanos) {
+        TIMES[timer.ordinal()].add(System.nanoTime() - startNanos);
+    }
+
+    public static void increment(Counter counter) {
+        COUNTS[counter.ordinal()].increment();
+    }
+
+    public static void add(Counter counter, long amount) {
+        COUNTS[counter.ordinal()].add(amount);
+    }
+
+    /**
+     * Counts a loaded page of the given type
+     */
+    public static void countPage(String type) {
+        PAGES_BY_TYPE.computeIfAbsent(type, k -> new LongAdder()).increment();
+    }
+
+    public static long getNanos(Timer timer) {
+        return TIMES[timer.ordinal()].sum();
+    }
+
+    public static long get(Counter counter) {
+        return COUNTS[counter.ordinal()].sum();
+    }
+
+    public static Map<String, Long> getPagesByType() {
+        Map<String, Long> pages = new TreeMap<>();
+        PAGES_BY_TYPE.forEach((type, count) -> pages.put(type, count.sum()));
+        return pages;
+    }
+
+    public static long getReloadStartedAt() {
+        return reloadStartedAt;
+    }
+
+    /**
+     * All values as JSON; times are in milliseconds
+     */
+    public static JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        json.addProperty("reload_started_at", reloadStartedAt);
+
+        JsonObject times = new JsonObject();
+        for (Timer timer : Timer.values()) {
+            times.addProperty(timer.name().toLowerCase(Locale.ROOT) + "_ms", getNanos(timer) / 1_000_000.0);
+        }
+        json.add("times", times);
+
+        JsonObject counters = new JsonObject();
+        for (Counter counter : Counter.values()) {
+            counters.addProperty(counter.name().toLowerCase(Locale.ROOT), get(counter));
+        }
+        json.add("counters", counters);
+
+        JsonObject pages = new JsonObject();
+        getPagesByType().forEach(pages::addProperty);
+        json.add("pages_by_type", pages);
+        return json;
+    }
+
+    public static Path getStatsPath() {
+        return FMLPaths.GAMEDIR.get().resolve("logs").resolve("eidolonunchained_stats.json");
+    }
+
+    /**
+     * Writes the stats file if {@code writeReloadStats} is enabled. Called once a reload has completely finished:
+     * after every reload listener has applied, and again after the codex was injected, so the research counters
+     * and the injection timers are included. Lazily converted pages keep adding to CONVERT after that.
+     */
+    public static void reloadFinished() {
+        if (Config.writeReloadStats) {
+            writeJsonAsync();
+        }
+    }
+
+    /**
+     * Writes {@link #toJson()} to {@link #getStatsPath()} on the IO pool
+     */
+    public static void writeJsonAsync() {
+        String contents = GSON.toJson(toJson());
+        Util.ioPool().execute(() -> {
+            Path path = getStatsPath();
+            try {
+                Files.createDirectories(path.getParent());
+                try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+                    writer.write(contents);
+                }
+            } catch (IOException e) {
+                LOGGER.warn("Could not write reload stats to {}: {}", path, e.getMessage());
+            }
+        });
+    }
+}
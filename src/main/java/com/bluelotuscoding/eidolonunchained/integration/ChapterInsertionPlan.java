@@ -0,0 +1,60 @@
+package com.bluelotuscoding.eidolonunchained.integration;
+
+import com.bluelotuscoding.eidolonunchained.codex.CodexEntry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Where each datapack entry goes in one Eidolon chapter. Entries come in {@link CodexEntry#PLACEMENT_ORDER}
+ * (the snapshot sorts them when it is built), so the chapter's pages are laid out in one merge pass
+ * instead of one list insert per page.
+ */
+final class ChapterInsertionPlan {
+    private final List<CodexEntry> entries;
+    // Per entry, the index of the chapter's own page it goes before; the page count means the end
+    private final int[] anchors;
+
+    private ChapterInsertionPlan(List<CodexEntry> entries, int[] anchors) {
+        this.entries = entries;
+        this.anchors = anchors;
+    }
+
+    /**
+     * Plans a chapter with {@code chapterPageCount} pages of its own. Anchors past the last page go at the end.
+     */
+    static ChapterInsertionPlan of(List<CodexEntry> entries, int chapterPageCount) {
+        int[] anchors = new int[entries.size()];
+        for (int i = 0; i < anchors.length; i++) {
+            int anchor = entries.get(i).getAnchorPage();
+            anchors[i] = anchor == CodexEntry.ANCHOR_END ? chapterPageCount : Math.min(anchor, chapterPageCount);
+        }
+        return new ChapterInsertionPlan(entries, anchors);
+    }
+
+    /**
+     * Builds the chapter's complete page list: its own pages with every entry's pages at their anchor
+     */
+    List<Object> layout(List<Object> chapterPages, Function<CodexEntry, List<Object>> pagesOf) {
+        List<List<Object>> entryPages = new ArrayList<>(entries.size());
+        int total = chapterPages.size();
+        for (CodexEntry entry : entries) {
+            List<Object> pages = pagesOf.apply(entry);
+            entryPages.add(pages);
+            total += pages.size();
+        }
+
+        List<Object> layout = new ArrayList<>(total);
+        int next = 0;
+        for (int page = 0; page <= chapterPages.size(); page++) {
+            while (next < anchors.length && anchors[next] == page) {
+                layout.addAll(entryPages.get(next++));
+            }
+            if (page < chapterPages.size()) {
+                layout.add(chapterPages.get(page));
+            }
+        }
+        return layout;
+    }
+}
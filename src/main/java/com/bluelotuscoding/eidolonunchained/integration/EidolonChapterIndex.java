@@ -0,0 +1,106 @@
+package com.bluelotuscoding.eidolonunchained.integration;
+
+import com.mojang.logging.LogUtils;
+import net.minecraft.resources.ResourceLocation;
+import org.slf4j.Logger;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One-time index of the public static Chapter fields on Eidolon's CodexChapters, keyed by
+ * chapter id ("ARCANE_GOLD" is indexed as "eidolon:arcane_gold").
+ * Each field is pre-resolved to a VarHandle, so looking up a chapter is a map lookup plus a field read.
+ */
+public final class EidolonChapterIndex {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final String CODEX_CHAPTERS_CLASS = "elucent.eidolon.codex.CodexChapters";
+    private static final String CHAPTER_CLASS = "elucent.eidolon.codex.Chapter";
+
+    // null until the first lookup; empty if Eidolon's classes could not be found
+    private static volatile Map<ResourceLocation, VarHandle> index;
+
+    private EidolonChapterIndex() {}
+
+    /**
+     * Whether the index could be built, i.e. Eidolon's codex classes are present
+     */
+    public static boolean isAvailable() {
+        return !getIndex().isEmpty();
+    }
+
+    /**
+     * Checks if a chapter id names a chapter field on CodexChapters
+     */
+    public static boolean isKnownChapter(ResourceLocation chapterId) {
+        return getIndex().containsKey(chapterId);
+    }
+
+    /**
+     * Gets every indexed chapter id
+     */
+    public static Set<ResourceLocation> getChapterIds() {
+        return getIndex().keySet();
+    }
+
+    /**
+     * Reads the current value of a chapter field; null if the chapter is unknown or not yet created by Eidolon
+     */
+    public static Object getChapter(ResourceLocation chapterId) {
+        VarHandle handle = getIndex().get(chapterId);
+        return handle != null ? (Object) handle.get() : null;
+    }
+
+    /**
+     * Converts a CodexChapters field name to the chapter id it is indexed under
+     */
+    public static ResourceLocation chapterIdForField(String fieldName) {
+        return new ResourceLocation("eidolon", fieldName.toLowerCase(Locale.ROOT));
+    }
+
+    private static Map<ResourceLocation, VarHandle> getIndex() {
+        Map<ResourceLocation, VarHandle> result = index;
+        if (result == null) {
+            result = buildIndex();
+        }
+        return result;
+    }
+
+    private static synchronized Map<ResourceLocation, VarHandle> buildIndex() {
+        if (index != null) {
+            return index;
+        }
+
+        Map<ResourceLocation, VarHandle> handles = new HashMap<>();
+        try {
+            // Don't initialize CodexChapters here; its chapters are only created once Eidolon's client setup runs
+            ClassLoader loader = EidolonChapterIndex.class.getClassLoader();
+            Class<?> codexChaptersClass = Class.forName(CODEX_CHAPTERS_CLASS, false, loader);
+            Class<?> chapterClass = Class.forName(CHAPTER_CLASS, false, loader);
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+
+            for (Field field : codexChaptersClass.getFields()) {
+                if (Modifier.isStatic(field.getModifiers()) && chapterClass.isAssignableFrom(field.getType())) {
+                    handles.put(chapterIdForField(field.getName()), lookup.unreflectVarHandle(field));
+                }
+            }
+            LOGGER.info("Indexed {} Eidolon codex chapters", handles.size());
+        } catch (ClassNotFoundException e) {
+            LOGGER.warn("Eidolon codex classes not found - chapter index unavailable");
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            // Forge throws a RuntimeException for classes stripped from this side
+            LOGGER.warn("Could not index Eidolon codex chapters: {}", e.getMessage());
+            LOGGER.debug("Chapter index error details:", e);
+        }
+
+        index = Collections.unmodifiableMap(handles);
+        return index;
+    }
+}
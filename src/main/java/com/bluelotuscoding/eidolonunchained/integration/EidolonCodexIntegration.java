@@ -1,8 +1,13 @@
 package com.bluelotuscoding.eidolonunchained.integration;
 
+import com.bluelotuscoding.eidolonunchained.Config;
 import com.bluelotuscoding.eidolonunchained.data.CodexDataManager;
+import com.bluelotuscoding.eidolonunchained.data.CodexSnapshot;
 import com.bluelotuscoding.eidolonunchained.codex.CodexEntry;
-import com.google.gson.JsonObject;
+import com.bluelotuscoding.eidolonunchained.codex.CodexPage;
+import com.bluelotuscoding.eidolonunchained.debug.LoadDiagnostics;
+import com.bluelotuscoding.eidolonunchained.debug.ReloadMetrics;
+import com.google.common.hash.HashCode;
 import com.mojang.logging.LogUtils;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
@@ -10,11 +15,20 @@ import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.event.lifecycle.FMLClientSetupEvent;
 import org.slf4j.Logger;
 
-import java.lang.reflect.Constructor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
-import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Handles integration with Eidolon's codex system to inject custom entries.
@@ -27,12 +41,15 @@ public class EidolonCodexIntegration {
     private static boolean integrationAttempted = false;
     private static boolean integrationSuccessful = false;
     
-    // Cached Eidolon classes and constructors
-    private static Class<?> textPageClass;
-    private static Class<?> titlePageClass;
-    private static Constructor<?> textPageConstructor;
-    private static Constructor<?> titlePageConstructor;
-    private static Method addPageMethod;
+    // Chapter.addPage as (Object chapter, Object page)void
+    private static MethodHandle addPageHandle;
+    // The chapter's page list field as (Object chapter)List and (Object chapter, List pages)void; null if not found
+    private static MethodHandle chapterPagesGetter;
+    private static MethodHandle chapterPagesSetter;
+    
+    // Pages we added to each chapter, so a re-injection can replace or remove exactly those
+    private static final Map<ResourceLocation, ChapterInjection> INJECTED = new HashMap<>();
+    private static long injectedGeneration = -1;
 
     @SubscribeEvent
     public static void onClientSetup(FMLClientSetupEvent event) {
@@ -75,28 +92,34 @@ public class EidolonCodexIntegration {
             
             // Find core Eidolon classes
             LOGGER.info("Loading Eidolon classes...");
-            Class<?> codexChaptersClass = Class.forName("elucent.eidolon.codex.CodexChapters");
+            Class.forName("elucent.eidolon.codex.CodexChapters");
             Class<?> chapterClass = Class.forName("elucent.eidolon.codex.Chapter");
             Class<?> pageClass = Class.forName("elucent.eidolon.codex.Page");
             LOGGER.info("Successfully loaded core Eidolon classes");
             
-            // Find page types we can create
-            LOGGER.info("Loading page classes...");
-            textPageClass = Class.forName("elucent.eidolon.codex.TextPage");
-            titlePageClass = Class.forName("elucent.eidolon.codex.TitlePage");
-            LOGGER.info("Successfully loaded page classes");
-            
-            // Get constructors for creating pages
-            LOGGER.info("Getting page constructors...");
-            textPageConstructor = textPageClass.getConstructor(String.class);
-            titlePageConstructor = titlePageClass.getConstructor(String.class);
-            LOGGER.info("Successfully obtained page constructors");
-            
             // Get the addPage method
             LOGGER.info("Getting addPage method...");
-            addPageMethod = chapterClass.getMethod("addPage", pageClass);
+            addPageHandle = MethodHandles.publicLookup()
+                    .unreflect(chapterClass.getMethod("addPage", pageClass))
+                    .asType(MethodType.methodType(void.class, Object.class, Object.class));
             LOGGER.info("Successfully obtained addPage method");
             
+            // The chapter's page list lets us lay out a whole chapter at once and take pages out again
+            Field pagesField = findPagesField(chapterClass);
+            if (pagesField != null) {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                chapterPagesGetter = lookup.unreflectGetter(pagesField)
+                        .asType(MethodType.methodType(List.class, Object.class));
+                try {
+                    chapterPagesSetter = lookup.unreflectSetter(pagesField)
+                            .asType(MethodType.methodType(void.class, Object.class, List.class));
+                } catch (IllegalAccessException e) {
+                    LOGGER.debug("Chapter page list can't be replaced, lazy pages are unavailable", e);
+                }
+            } else {
+                LOGGER.warn("Could not find Chapter page list - pages can only be appended and re-injection will only add new entries");
+            }
+            
             // Initialize the page converter
             LOGGER.info("Initializing page converter...");
             EidolonPageConverter.initialize();
@@ -104,9 +127,9 @@ public class EidolonCodexIntegration {
             
             // Test access to a known chapter (just for logging, doesn't affect success)
             LOGGER.info("Testing chapter access...");
-            Field testField = codexChaptersClass.getField("ARCANE_GOLD");
-            Object testChapter = testField.get(null);
-            LOGGER.info("Successfully accessed test chapter: {}", testChapter);
+            Object testChapter = EidolonChapterIndex.getChapter(EidolonChapterIndex.chapterIdForField("ARCANE_GOLD"));
+            LOGGER.info("Successfully accessed test chapter: {} ({} chapters indexed)",
+                        testChapter, EidolonChapterIndex.getChapterIds().size());
             
             // Integration is successful if we can access the classes and methods
             LOGGER.info("✓ Successfully found Eidolon CodexChapters class");
@@ -121,9 +144,11 @@ public class EidolonCodexIntegration {
     }
 
     /**
-     * Injects our custom entries into the appropriate Eidolon chapters
+     * Injects our custom entries into the appropriate Eidolon chapters.
+     * Safe to call repeatedly: unchanged entries are left alone, changed entries have their pages
+     * replaced in place and entries that no longer exist have their pages removed.
      */
-    private static void injectCustomEntries() {
+    private static synchronized void injectCustomEntries() {
         LOGGER.info("=== Starting custom entry injection ===");
         
         if (!integrationSuccessful) {
@@ -131,92 +156,274 @@ public class EidolonCodexIntegration {
             return;
         }
 
+        long start = System.nanoTime();
+        boolean injected = false;
         try {
-            Class<?> codexChaptersClass = Class.forName("elucent.eidolon.codex.CodexChapters");
-            Map<ResourceLocation, List<CodexEntry>> chapterExtensions = CodexDataManager.getAllChapterExtensions();
+            CodexSnapshot snapshot = CodexDataManager.getSnapshot();
+            Map<ResourceLocation, List<CodexEntry>> chapterExtensions = snapshot.getChapterExtensions();
+            
+            if (snapshot.getGeneration() == injectedGeneration) {
+                LOGGER.info("Codex data unchanged since last injection (generation {}), nothing to do", injectedGeneration);
+                return;
+            }
             
             LOGGER.info("Found {} loaded chapter extensions from CodexDataManager", chapterExtensions.size());
             
-            if (chapterExtensions.isEmpty()) {
+            if (chapterExtensions.isEmpty() && INJECTED.isEmpty()) {
                 LOGGER.warn("No chapter extensions found! Check if CodexDataManager is loading data correctly.");
+                injectedGeneration = snapshot.getGeneration();
                 return;
             }
             
-            LOGGER.info("Injecting entries for {} chapters", chapterExtensions.size());
+            // If the last injection saw the previous generation, only the chapters touched by this reload can differ
+            Set<ResourceLocation> chapters = new LinkedHashSet<>();
+            if (injectedGeneration >= 0 && snapshot.getDiff().fromGeneration() == injectedGeneration) {
+                chapters.addAll(snapshot.getDiff().affectedChapters());
+            } else {
+                chapters.addAll(chapterExtensions.keySet());
+                chapters.addAll(INJECTED.keySet());
+            }
             
-            for (Map.Entry<ResourceLocation, List<CodexEntry>> chapterEntry : chapterExtensions.entrySet()) {
-                ResourceLocation chapterId = chapterEntry.getKey();
-                List<CodexEntry> entries = chapterEntry.getValue();
-                
-                LOGGER.info("Processing chapter {} with {} entries", chapterId, entries.size());
+            LOGGER.info("Injecting entries for {} chapters", chapters.size());
+            ReferenceCache.warm(snapshot);
+            
+            for (ResourceLocation chapterId : chapters) {
+                List<CodexEntry> entries = snapshot.getEntriesForChapter(chapterId);
                 
-                // Convert "eidolon:arcane_gold" to "ARCANE_GOLD"
-                String fieldName = convertChapterIdToFieldName(chapterId.toString());
+                // Unknown chapters were already reported when the datapack loaded
+                if (!EidolonChapterIndex.isKnownChapter(chapterId)) {
+                    LOGGER.debug("Skipping unknown chapter {}", chapterId);
+                    continue;
+                }
                 
                 try {
-                    Field chapterField = codexChaptersClass.getField(fieldName);
-                    Object chapterObj = chapterField.get(null);
+                    Object chapterObj = EidolonChapterIndex.getChapter(chapterId);
                     
                     if (chapterObj != null) {
-                        LOGGER.info("✓ Injecting {} entries into chapter {}", entries.size(), fieldName);
-                        
-                        for (CodexEntry entry : entries) {
-                            injectEntryIntoChapter(chapterObj, entry);
-                        }
+                        syncChapter(chapterId, chapterObj, entries, snapshot);
                     } else {
-                        LOGGER.warn("✗ Chapter {} is null - may need to defer injection", fieldName);
+                        LOGGER.warn("✗ Chapter {} is null - may need to defer injection", chapterId);
                     }
                     
-                } catch (NoSuchFieldException e) {
-                    LOGGER.warn("✗ Could not find chapter field {} for target {}", fieldName, chapterId);
                 } catch (Exception e) {
                     LOGGER.error("Failed to inject entries into chapter {}", chapterId, e);
                 }
             }
             
+            injectedGeneration = snapshot.getGeneration();
+            injected = true;
             LOGGER.info("Codex integration complete!");
             
         } catch (Exception e) {
             LOGGER.error("Failed to inject custom entries", e);
+        } finally {
+            ReloadMetrics.stop(ReloadMetrics.Timer.INJECT, start);
+            if (injected) {
+                // Now the stats include conversion and injection
+                ReloadMetrics.reloadFinished();
+            }
         }
     }
 
     /**
-     * Converts our CodexEntry into Eidolon Page objects and adds them to the chapter
+     * Brings one chapter in line with the entries currently loaded for it. Entries arrive in placement order;
+     * the chapter's page list is rebuilt from Eidolon's own pages and ours in one pass and replaced in bulk.
      */
-    private static void injectEntryIntoChapter(Object chapterObj, CodexEntry entry) {
-        try {
-            // Only add pages from the JSON definition; do not always add a TitlePage
-            for (JsonObject pageJson : entry.getPages()) {
-                Object eidolonPage = EidolonPageConverter.convertPage(pageJson);
-                if (eidolonPage != null) {
-                    addPageMethod.invoke(chapterObj, eidolonPage);
+    private static void syncChapter(ResourceLocation chapterId, Object chapterObj, List<CodexEntry> entries,
+                                    CodexSnapshot snapshot) {
+        ChapterInjection injection = INJECTED.get(chapterId);
+        if (injection == null || injection.chapter != chapterObj) {
+            // First injection, or Eidolon rebuilt its chapters and our old pages went with them
+            injection = new ChapterInjection(chapterObj);
+            INJECTED.put(chapterId, injection);
+        }
+        
+        List<Object> pageList = getChapterPages(chapterObj);
+        // With a lazy list, pages are stored as placeholders and only converted when the chapter reads them
+        boolean lazy = pageList instanceof LazyPageList;
+        Map<ResourceLocation, InjectedEntry> previous = injection.entries;
+        Map<ResourceLocation, InjectedEntry> current = new LinkedHashMap<>();
+        int added = 0, replaced = 0, kept = 0;
+        
+        // Every page we put in the chapter before; Eidolon's own pages are the rest
+        Set<Object> ours = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (InjectedEntry old : previous.values()) {
+            ours.addAll(old.pages());
+        }
+        
+        for (CodexEntry entry : entries) {
+            HashCode hash = snapshot.getContentHash(entry.getId());
+            InjectedEntry old = previous.remove(entry.getId());
+            
+            if (old != null && (old.hash().equals(hash) || pageList == null)) {
+                current.put(entry.getId(), old);
+                kept++;
+                continue;
+            }
+            
+            List<Object> pages = lazy ? createLazyPages(entry) : convertEntryPages(entry);
+            if (pageList == null) {
+                // No access to the page list, so pages can only be appended
+                for (Object page : pages) {
+                    addPage(chapterObj, page);
                 }
             }
-            LOGGER.debug("Successfully injected entry '{}' with {} pages", entry.getId(), entry.getPages().size());
-        } catch (Exception e) {
-            LOGGER.error("Failed to inject entry '{}' into chapter", entry.getId(), e);
+            if (old != null) {
+                replaced++;
+            } else {
+                added++;
+            }
+            current.put(entry.getId(), new InjectedEntry(hash, pages));
+        }
+        
+        // Whatever is left was removed from the datapacks
+        int removed = pageList != null ? previous.size() : 0;
+        if (pageList == null) {
+            current.putAll(previous);
+        } else if (added > 0 || replaced > 0 || removed > 0) {
+            List<Object> chapterPages = new ArrayList<>(pageList.size());
+            for (int i = 0; i < pageList.size(); i++) {
+                Object page = rawPage(pageList, i);
+                if (!ours.contains(page)) {
+                    chapterPages.add(page);
+                }
+            }
+            List<Object> layout = ChapterInsertionPlan.of(entries, chapterPages.size())
+                    .layout(chapterPages, entry -> current.get(entry.getId()).pages());
+            // One bulk write; addAll sizes the backing array for the whole chapter at most once
+            pageList.clear();
+            pageList.addAll(layout);
         }
+        
+        injection.entries = current;
+        if (current.isEmpty()) {
+            INJECTED.remove(chapterId);
+        }
+        LoadDiagnostics.detail(LOGGER).log("Chapter {}: {} entries added, {} replaced, {} removed, {} unchanged",
+                    chapterId, added, replaced, removed, kept);
     }
 
     /**
-     * Converts "eidolon:arcane_gold" to "ARCANE_GOLD" OR just returns "ARCANE_GOLD" if already uppercase
+     * Converts our CodexEntry into Eidolon Page objects
      */
-    private static String convertChapterIdToFieldName(String chapterId) {
-        // If it's already uppercase and looks like a field name, use it directly
-        if (chapterId.equals(chapterId.toUpperCase()) && !chapterId.contains(":")) {
-            return chapterId;
+    private static List<Object> convertEntryPages(CodexEntry entry) {
+        List<Object> pages = new ArrayList<>(entry.getPages().size());
+        // Only add pages from the JSON definition; do not always add a TitlePage
+        for (CodexPage page : entry.getPages()) {
+            Object eidolonPage = EidolonPageConverter.convertPage(page);
+            if (eidolonPage != null) {
+                pages.add(eidolonPage);
+            }
         }
-        
-        // Otherwise convert from resource location format
-        if (chapterId.startsWith("eidolon:")) {
-            return chapterId.substring(8).toUpperCase();
-        } else {
-            // Handle cases like "void_amulet" -> "VOID_AMULET"
-            return chapterId.toUpperCase();
+        LOGGER.debug("Converted entry '{}' with {} pages", entry.getId(), pages.size());
+        return pages;
+    }
+
+    /**
+     * Creates unconverted placeholders for an entry's pages
+     */
+    private static List<Object> createLazyPages(CodexEntry entry) {
+        List<Object> pages = new ArrayList<>(entry.getPages().size());
+        for (CodexPage page : entry.getPages()) {
+            pages.add(new LazyPage(page));
         }
+        return pages;
     }
 
+    /**
+     * Reads a page list slot without converting a lazy placeholder
+     */
+    private static Object rawPage(List<Object> pageList, int index) {
+        return pageList instanceof LazyPageList lazyList ? lazyList.getRaw(index) : pageList.get(index);
+    }
+
+    /**
+     * Gets a chapter's page list, swapping in a {@link LazyPageList} the first time if lazy pages are enabled
+     */
+    @SuppressWarnings("unchecked")
+    private static List<Object> getChapterPages(Object chapterObj) {
+        if (chapterPagesGetter == null) {
+            return null;
+        }
+        List<Object> pages;
+        try {
+            pages = (List<Object>) (List<?>) chapterPagesGetter.invokeExact(chapterObj);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Could not read the page list of " + chapterObj, e);
+        }
+        if (Config.lazyCodexPages && chapterPagesSetter != null && pages != null && !(pages instanceof LazyPageList)) {
+            try {
+                LazyPageList lazyList = new LazyPageList(pages);
+                chapterPagesSetter.invokeExact(chapterObj, (List<?>) lazyList);
+                pages = lazyList;
+            } catch (Throwable e) {
+                LOGGER.debug("Could not install lazy page list, pages will be converted up front", e);
+            }
+        }
+        return pages;
+    }
+
+    /**
+     * Appends one page through Chapter.addPage; only used when the page list itself isn't reachable
+     */
+    private static void addPage(Object chapterObj, Object page) {
+        try {
+            addPageHandle.invokeExact(chapterObj, page);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Could not add a page to " + chapterObj, e);
+        }
+    }
+
+    /**
+     * Finds the List field Eidolon's Chapter keeps its pages in: the field named "pages", or else the
+     * chapter's only instance List field. Null if neither exists, so no handle is bound to the wrong list.
+     */
+    private static Field findPagesField(Class<?> chapterClass) {
+        Field pagesField = null;
+        try {
+            pagesField = chapterClass.getDeclaredField("pages");
+            if (!List.class.isAssignableFrom(pagesField.getType()) || Modifier.isStatic(pagesField.getModifiers())) {
+                LOGGER.warn("Chapter.pages is not an instance List field");
+                pagesField = null;
+            }
+        } catch (NoSuchFieldException e) {
+            List<Field> listFields = new ArrayList<>();
+            for (Field field : chapterClass.getDeclaredFields()) {
+                if (List.class.isAssignableFrom(field.getType()) && !Modifier.isStatic(field.getModifiers())) {
+                    listFields.add(field);
+                }
+            }
+            if (listFields.size() == 1) {
+                pagesField = listFields.get(0);
+                LOGGER.debug("Chapter has no 'pages' field, using its only List field {}", pagesField.getName());
+            }
+        }
+        if (pagesField == null) {
+            return null;
+        }
+        try {
+            pagesField.setAccessible(true);
+            return pagesField;
+        } catch (RuntimeException e) {
+            LOGGER.debug("Chapter page list field {} is not accessible", pagesField.getName(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Pages injected into one Eidolon chapter, per codex entry
+     */
+    private static final class ChapterInjection {
+        final Object chapter;
+        Map<ResourceLocation, InjectedEntry> entries = new LinkedHashMap<>();
+
+        ChapterInjection(Object chapter) {
+            this.chapter = chapter;
+        }
+    }
+
+    private record InjectedEntry(HashCode hash, List<Object> pages) {}
+
     public static boolean isIntegrationSuccessful() {
         return integrationSuccessful;
     }
@@ -1,6 +1,7 @@
 package com.bluelotuscoding.eidolonunchained.integration;
 
 import com.bluelotuscoding.eidolonunchained.data.ResearchDataManager;
+import com.bluelotuscoding.eidolonunchained.debug.LoadDiagnostics;
 import com.bluelotuscoding.eidolonunchained.research.ResearchEntry;
 import com.mojang.logging.LogUtils;
 import net.minecraft.resources.ResourceLocation;
@@ -78,7 +79,7 @@ public class EidolonResearchIntegration {
                 ResourceLocation researchId = entry.getKey();
                 
                 // TODO: Convert our ResearchEntry to Eidolon's Research object and register it
-                LOGGER.info("✓ Would inject research entry: {}", researchId);
+                LoadDiagnostics.detail(LOGGER).log("Would inject research entry: {}", researchId);
             }
             
             LOGGER.info("Research integration complete!");
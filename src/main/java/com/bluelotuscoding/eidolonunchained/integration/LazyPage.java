@@ -0,0 +1,37 @@
+package com.bluelotuscoding.eidolonunchained.integration;
+
+import com.bluelotuscoding.eidolonunchained.codex.CodexPage;
+
+/**
+ * Placeholder for a datapack page that has not been converted to an Eidolon page yet.
+ * It sits in a chapter's {@link LazyPageList} and is converted the first time the chapter reads it.
+ */
+public final class LazyPage {
+    private final CodexPage source;
+    private volatile Object page;
+
+    public LazyPage(CodexPage source) {
+        this.source = source;
+    }
+
+    /**
+     * Gets the Eidolon page, converting it on first call
+     */
+    public Object materialize() {
+        Object result = page;
+        if (result == null) {
+            synchronized (this) {
+                result = page;
+                if (result == null) {
+                    result = EidolonPageConverter.convertPage(source);
+                    if (result == null) {
+                        // Chapters can't hold gaps, so show an empty page rather than break the codex
+                        result = EidolonPageConverter.createPlaceholderPage();
+                    }
+                    page = result;
+                }
+            }
+        }
+        return result;
+    }
+}
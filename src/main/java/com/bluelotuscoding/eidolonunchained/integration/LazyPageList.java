@@ -0,0 +1,69 @@
+package com.bluelotuscoding.eidolonunchained.integration;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Page list installed in place of an Eidolon chapter's own list.
+ * It stores {@link LazyPage} placeholders next to Eidolon's pages and hands out the real page
+ * the first time an index is read, so datapack pages nobody opens are never built.
+ */
+public final class LazyPageList extends AbstractList<Object> implements RandomAccess {
+    private final List<Object> delegate;
+
+    public LazyPageList(List<Object> delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Object get(int index) {
+        Object page = delegate.get(index);
+        return page instanceof LazyPage lazy ? lazy.materialize() : page;
+    }
+
+    /**
+     * Gets the stored element without materializing it - a {@link LazyPage} stays a placeholder
+     */
+    public Object getRaw(int index) {
+        return delegate.get(index);
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public Object set(int index, Object element) {
+        return delegate.set(index, element);
+    }
+
+    @Override
+    public void add(int index, Object element) {
+        modCount++;
+        delegate.add(index, element);
+    }
+
+    @Override
+    public Object remove(int index) {
+        modCount++;
+        return delegate.remove(index);
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<?> elements) {
+        modCount++;
+        return delegate.addAll(index, elements);
+    }
+
+    /**
+     * Clears the list without materializing any placeholder
+     */
+    @Override
+    public void clear() {
+        modCount++;
+        delegate.clear();
+    }
+}
@@ -0,0 +1,135 @@
+package com.bluelotuscoding.eidolonunchained.integration;
+
+import com.bluelotuscoding.eidolonunchained.codex.CodexPage;
+import com.mojang.logging.LogUtils;
+import org.slf4j.Logger;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of page factories keyed by the JSON page "type".
+ * Built-in Eidolon page types are registered by {@link EidolonPageConverter}; other mods can register
+ * their own types here and have them picked up by the datapack loader without any extra reflection.
+ */
+public final class PageFactoryRegistry {
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    private static final Map<String, PageFactory> FACTORIES = new ConcurrentHashMap<>();
+    private static final Map<String, ConstructorHandle> CONSTRUCTORS = new ConcurrentHashMap<>();
+
+    private PageFactoryRegistry() {}
+
+    /**
+     * Creates an Eidolon page object from a parsed page.
+     * Types registered by other mods receive a {@link CodexPage.Custom} holding the page's JSON.
+     */
+    @FunctionalInterface
+    public interface PageFactory {
+        Object create(CodexPage page) throws Exception;
+    }
+
+    /**
+     * Registers (or replaces) the factory used for the given page type
+     */
+    public static void register(String type, PageFactory factory) {
+        String key = type.toLowerCase(Locale.ROOT);
+        PageFactory previous = FACTORIES.put(key, factory);
+        if (previous != null && previous != factory) {
+            LOGGER.info("Replaced page factory for type '{}'", key);
+        }
+    }
+
+    /**
+     * Registers a built-in factory without overriding one that another mod registered first
+     */
+    static void registerDefault(String type, PageFactory factory) {
+        FACTORIES.putIfAbsent(type.toLowerCase(Locale.ROOT), factory);
+    }
+
+    /**
+     * Gets the factory for a page type, or null if the type is unknown. Types are matched ignoring case.
+     */
+    public static PageFactory get(String type) {
+        return FACTORIES.get(type.toLowerCase(Locale.ROOT));
+    }
+
+    public static boolean isRegistered(String type) {
+        return FACTORIES.containsKey(type.toLowerCase(Locale.ROOT));
+    }
+
+    public static Set<String> getRegisteredTypes() {
+        return Collections.unmodifiableSet(FACTORIES.keySet());
+    }
+
+    /**
+     * Gets a cached handle for the public single-argument constructor of a page class.
+     * The class and constructor are resolved once, on first use, and shared by every caller.
+     */
+    public static ConstructorHandle constructor(String className, Class<?> parameterType) {
+        return CONSTRUCTORS.computeIfAbsent(className + "(" + parameterType.getName() + ")",
+                k -> new ConstructorHandle(className, parameterType));
+    }
+
+    /**
+     * Lazily resolved {@link MethodHandle} for a page constructor, adapted to {@code (Object)Object}
+     * so it can be invoked exactly without boxing the argument types at every call site.
+     */
+    public static final class ConstructorHandle {
+        private static final MethodType ERASED = MethodType.methodType(Object.class, Object.class);
+
+        private final String className;
+        private final Class<?> parameterType;
+        private volatile MethodHandle handle;
+        private ReflectiveOperationException failure;
+
+        private ConstructorHandle(String className, Class<?> parameterType) {
+            this.className = className;
+            this.parameterType = parameterType;
+        }
+
+        public Object newInstance(Object argument) throws Exception {
+            MethodHandle h = handle;
+            if (h == null) {
+                h = resolve();
+            }
+            try {
+                return (Object) h.invokeExact(argument);
+            } catch (Exception e) {
+                throw e;
+            } catch (Throwable t) {
+                // Mirror Constructor.newInstance, which wraps anything thrown by the constructor
+                throw new InvocationTargetException(t);
+            }
+        }
+
+        private synchronized MethodHandle resolve() throws ReflectiveOperationException {
+            if (handle == null) {
+                // Don't repeat a failed class lookup for every page. Each caller gets its own exception,
+                // so the cached one isn't shared and doesn't collect suppressed exceptions.
+                if (failure != null) {
+                    throw new ReflectiveOperationException("Page constructor " + className + "("
+                            + parameterType.getSimpleName() + ") is unavailable", failure);
+                }
+                try {
+                    Class<?> pageClass = Class.forName(className);
+                    handle = MethodHandles.publicLookup()
+                            .findConstructor(pageClass, MethodType.methodType(void.class, parameterType))
+                            .asType(ERASED);
+                    LOGGER.debug("Resolved page constructor {}({})", className, parameterType.getSimpleName());
+                } catch (ReflectiveOperationException e) {
+                    failure = e;
+                    throw e;
+                }
+            }
+            return handle;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.bluelotuscoding.eidolonunchained.integration;
+
+import com.bluelotuscoding.eidolonunchained.codex.CodexEntry;
+import com.bluelotuscoding.eidolonunchained.codex.CodexPage;
+import com.bluelotuscoding.eidolonunchained.data.CodexSnapshot;
+import com.bluelotuscoding.eidolonunchained.data.RecipeIndex;
+import com.bluelotuscoding.eidolonunchained.debug.LoadDiagnostics;
+import com.mojang.logging.LogUtils;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraftforge.registries.ForgeRegistries;
+import org.slf4j.Logger;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the item, entity and recipe ids that codex pages reference, once per reload.
+ * Misses are cached as well, so a bad id costs one lookup instead of one per conversion.
+ * Crafting ids are looked up as items first and then as recipes in the {@link RecipeIndex}.
+ */
+public final class ReferenceCache {
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    private static final Map<ResourceLocation, Optional<EntityType<?>>> ENTITIES = new ConcurrentHashMap<>();
+    private static final Map<ResourceLocation, Optional<ItemStack>> CRAFTING_RESULTS = new ConcurrentHashMap<>();
+
+    private ReferenceCache() {}
+
+    /**
+     * Forgets all resolved ids; called when recipes are reindexed
+     */
+    public static void invalidate() {
+        ENTITIES.clear();
+        CRAFTING_RESULTS.clear();
+    }
+
+    /**
+     * Gets a registered entity type, or null if there is none with this id
+     */
+    public static EntityType<?> entity(ResourceLocation id) {
+        return ENTITIES.computeIfAbsent(id, key -> Optional.ofNullable(
+                ForgeRegistries.ENTITY_TYPES.containsKey(key) ? ForgeRegistries.ENTITY_TYPES.getValue(key) : null))
+                .orElse(null);
+    }
+
+    /**
+     * Gets the item a crafting page shows: the item with this id, or else the result of the recipe with this id.
+     * Returns an empty stack if neither exists.
+     */
+    public static ItemStack craftingResult(ResourceLocation id) {
+        Optional<ItemStack> cached = CRAFTING_RESULTS.get(id);
+        if (cached != null) {
+            return cached.map(ItemStack::copy).orElse(ItemStack.EMPTY);
+        }
+        RecipeIndex recipes = RecipeIndex.get();
+        Optional<ItemStack> result = resolveCraftingResult(id, recipes);
+        // Recipe misses are only final once recipes are loaded
+        if (result.isPresent() || recipes.isLoaded()) {
+            CRAFTING_RESULTS.put(id, result);
+        }
+        return result.map(ItemStack::copy).orElse(ItemStack.EMPTY);
+    }
+
+    private static Optional<ItemStack> resolveCraftingResult(ResourceLocation id, RecipeIndex recipes) {
+        if (ForgeRegistries.ITEMS.containsKey(id)) {
+            Item item = ForgeRegistries.ITEMS.getValue(id);
+            if (recipes.isLoaded() && recipes.getRecipesFor(item).isEmpty()) {
+                LoadDiagnostics.detail(LOGGER).log("No recipe makes {}; its crafting page will be empty", id);
+            }
+            return Optional.of(new ItemStack(item));
+        }
+        ItemStack output = recipes.getOutput(id);
+        return output.isEmpty() ? Optional.empty() : Optional.of(output);
+    }
+
+    /**
+     * Resolves every id referenced by the snapshot's pages, so conversion only hits the cache
+     */
+    public static void warm(CodexSnapshot snapshot) {
+        int references = 0;
+        for (CodexEntry entry : snapshot.getEntries().values()) {
+            for (CodexPage page : entry.getPages()) {
+                if (page instanceof CodexPage.Entity entity && entity.entity() != null) {
+                    entity(entity.entity());
+                    references++;
+                } else if (page instanceof CodexPage.Crafting crafting && crafting.item() != null) {
+                    craftingResult(crafting.item());
+                    references++;
+                }
+            }
+        }
+        LOGGER.debug("Resolved {} codex references ({} entities, {} crafting ids)",
+                references, ENTITIES.size(), CRAFTING_RESULTS.size());
+    }
+}
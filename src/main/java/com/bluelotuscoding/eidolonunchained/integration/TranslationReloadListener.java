@@ -0,0 +1,197 @@
+package com.bluelotuscoding.eidolonunchained.integration;
+
+import com.bluelotuscoding.eidolonunchained.EidolonUnchained;
+import com.bluelotuscoding.eidolonunchained.data.CodexDataManager;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.mojang.logging.LogUtils;
+import net.minecraft.client.Minecraft;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.resources.Resource;
+import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraft.server.packs.resources.SimplePreparableReloadListener;
+import net.minecraft.util.profiling.InactiveProfiler;
+import net.minecraft.util.profiling.ProfilerFiller;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.client.event.RegisterClientReloadListenersEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.slf4j.Logger;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Loads codex translations for the player's language from the resource manager, so resource packs
+ * can add or override them. Runs on every client resource reload, which includes changing language.
+ * Lang files are only parsed again when their bytes changed since the last reload.
+ * <p>
+ * Entries synced from a server can come from namespaces that weren't known at the last reload;
+ * {@link #refreshNamespaces()} loads their lang files without a full resource reload.
+ */
+@Mod.EventBusSubscriber(modid = EidolonUnchained.MODID, bus = Mod.EventBusSubscriber.Bus.MOD, value = Dist.CLIENT)
+public class TranslationReloadListener extends SimplePreparableReloadListener<TranslationReloadListener.Prepared> {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final String FALLBACK_LOCALE = "en_us";
+
+    private static TranslationReloadListener instance;
+
+    // Parsed lang files from the last reload by "namespace/locale", with the hash they were parsed from
+    private volatile Map<String, LangFile> loaded = Map.of();
+    // Namespaces the last reload loaded lang files for
+    private volatile Set<String> namespaces = Set.of();
+
+    @SubscribeEvent
+    public static void onRegisterReloadListeners(RegisterClientReloadListenersEvent event) {
+        instance = new TranslationReloadListener();
+        event.registerReloadListener(instance);
+    }
+
+    record LangFile(String namespace, String locale, HashCode hash, Map<String, String> translations) {}
+
+    record Prepared(String locale, Set<String> namespaces, List<LangFile> files) {}
+
+    /**
+     * Loads the lang files again if the namespaces with codex entries changed since the last reload.
+     * Must be called on the client main thread.
+     */
+    public static void refreshNamespaces() {
+        TranslationReloadListener listener = instance;
+        if (listener == null || getCodexNamespaces().equals(listener.namespaces)) {
+            return;
+        }
+        ResourceManager resourceManager = Minecraft.getInstance().getResourceManager();
+        listener.apply(listener.prepare(resourceManager, InactiveProfiler.INSTANCE), resourceManager, InactiveProfiler.INSTANCE);
+    }
+
+    @Override
+    protected Prepared prepare(ResourceManager resourceManager, ProfilerFiller profiler) {
+        String locale = Minecraft.getInstance().getLanguageManager().getSelected();
+        Map<String, LangFile> previous = loaded;
+        Set<String> codexNamespaces = getCodexNamespaces();
+        List<LangFile> files = new ArrayList<>();
+        int parsed = 0;
+
+        for (String namespace : codexNamespaces) {
+            for (String fileLocale : locale.equals(FALLBACK_LOCALE) ? List.of(FALLBACK_LOCALE) : List.of(FALLBACK_LOCALE, locale)) {
+                LangFile file = loadLangFile(resourceManager, namespace, fileLocale, previous.get(namespace + "/" + fileLocale));
+                if (file != null) {
+                    if (previous.get(namespace + "/" + fileLocale) != file) {
+                        parsed++;
+                    }
+                    files.add(file);
+                }
+            }
+        }
+        LOGGER.debug("Prepared {} codex lang files for {} ({} parsed)", files.size(), locale, parsed);
+        return new Prepared(locale, codexNamespaces, files);
+    }
+
+    @Override
+    protected void apply(Prepared prepared, ResourceManager resourceManager, ProfilerFiller profiler) {
+        Map<String, LangFile> current = new HashMap<>();
+        Map<String, String> fallback = new HashMap<>();
+        Map<String, String> selected = new HashMap<>();
+        // English first, the selected language on top, like the game's own language loading
+        for (LangFile file : prepared.files()) {
+            current.put(file.namespace() + "/" + file.locale(), file);
+            if (file.locale().equals(FALLBACK_LOCALE)) {
+                fallback.putAll(file.translations());
+            }
+        }
+        selected.putAll(fallback);
+        for (LangFile file : prepared.files()) {
+            if (!file.locale().equals(FALLBACK_LOCALE)) {
+                selected.putAll(file.translations());
+            }
+        }
+        loaded = current;
+        namespaces = prepared.namespaces();
+
+        TranslationResolver.setTranslations(FALLBACK_LOCALE, fallback);
+        TranslationResolver.setTranslations(prepared.locale(), selected);
+        TranslationResolver.setActiveLocale(prepared.locale());
+        LOGGER.info("Loaded {} codex translations for {}", selected.size(), prepared.locale());
+    }
+
+    /**
+     * Namespaces whose lang files can hold codex text: ours, Eidolon's, and every namespace with loaded codex entries
+     */
+    private static Set<String> getCodexNamespaces() {
+        Set<String> namespaces = new LinkedHashSet<>();
+        namespaces.add(EidolonUnchained.MODID);
+        namespaces.add("eidolon");
+        for (ResourceLocation entryId : CodexDataManager.getAllEntries().keySet()) {
+            namespaces.add(entryId.getNamespace());
+        }
+        return namespaces;
+    }
+
+    /**
+     * Reads one lang file from every pack that has it. Returns the previous result if the bytes are unchanged,
+     * or null if no pack has the file.
+     */
+    private static LangFile loadLangFile(ResourceManager resourceManager, String namespace, String locale, LangFile previous) {
+        List<Resource> stack = resourceManager.getResourceStack(new ResourceLocation(namespace, "lang/" + locale + ".json"));
+        if (stack.isEmpty()) {
+            return null;
+        }
+
+        List<byte[]> contents = new ArrayList<>(stack.size());
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        for (Resource resource : stack) {
+            try (InputStream in = resource.open()) {
+                byte[] bytes = in.readAllBytes();
+                hasher.putInt(bytes.length).putBytes(bytes);
+                contents.add(bytes);
+            } catch (IOException e) {
+                LOGGER.warn("Couldn't read {} lang file for {} from pack {}: {}", locale, namespace, resource.sourcePackId(), e.getMessage());
+            }
+        }
+        HashCode hash = hasher.hash();
+        if (previous != null && previous.hash().equals(hash)) {
+            return previous;
+        }
+
+        // Packs come lowest priority first, so later files override earlier ones
+        Map<String, String> translations = new HashMap<>();
+        for (byte[] bytes : contents) {
+            try {
+                readLangFile(bytes, translations);
+            } catch (IOException | IllegalStateException e) {
+                LOGGER.warn("Couldn't parse {} lang file for {}: {}", locale, namespace, e.getMessage());
+            }
+        }
+        return new LangFile(namespace, locale, hash, Map.copyOf(translations));
+    }
+
+    /**
+     * Streams the string entries of a lang file into the map without building a JSON tree
+     */
+    private static void readLangFile(byte[] bytes, Map<String, String> translations) throws IOException {
+        try (JsonReader reader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String key = reader.nextName();
+                if (reader.peek() == JsonToken.STRING) {
+                    translations.put(key, reader.nextString());
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.bluelotuscoding.eidolonunchained.integration;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.mojang.logging.LogUtils;
+import net.minecraft.locale.Language;
+import org.slf4j.Logger;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves translation keys in codex page text.
+ * Translations are held in one immutable map per locale; every resolved text, including keys that
+ * have no translation and fall back to a readable name, is memoized, so a cache hit is a single
+ * map lookup that returns the stored string.
+ */
+public final class TranslationResolver {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final String DEFAULT_LOCALE = "en_us";
+
+    // Immutable translation table per locale; replaced as a whole when a locale is (re)loaded
+    private static final Map<String, Map<String, String>> LOCALES = new ConcurrentHashMap<>();
+
+    private static volatile String activeLocale = DEFAULT_LOCALE;
+    private static volatile Memo memo = new Memo(DEFAULT_LOCALE, Map.of(), null);
+
+    private TranslationResolver() {}
+
+    /**
+     * Resolved text by key for one locale and one game {@link Language}; thrown away when either changes
+     */
+    private record Memo(String locale, Map<String, String> translations, Language language,
+                        Map<String, String> resolved) {
+        Memo(String locale, Map<String, String> translations, Language language) {
+            this(locale, translations, language, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Checks whether page text uses one of the mod's key prefixes. Such text falls back to a readable name
+     * when it has no translation; any other text is only replaced if a translation exists for it.
+     */
+    public static boolean isTranslationKey(String text) {
+        return text.startsWith("eidolonunchained.") || text.startsWith("eidolon.");
+    }
+
+    /**
+     * Translates text if the loaded lang files or the game's language have a translation for it, so keys
+     * from any namespace resolve. Otherwise returns it unchanged, except for keys with one of the mod's
+     * prefixes, which resolve to a readable name built from the last part of the key.
+     */
+    public static String resolve(String text) {
+        Memo current = currentMemo();
+        String cached = current.resolved().get(text);
+        if (cached != null) {
+            return cached;
+        }
+        String result = lookup(current, text);
+        current.resolved().putIfAbsent(text, result);
+        return result;
+    }
+
+    /**
+     * Replaces the translations of a locale. The map is copied, so later changes to it have no effect.
+     */
+    public static void setTranslations(String locale, Map<String, String> translations) {
+        LOCALES.put(locale, Map.copyOf(translations));
+        memo = new Memo(activeLocale, LOCALES.getOrDefault(activeLocale, Map.of()), null);
+    }
+
+    /**
+     * Switches the locale used by {@link #resolve(String)}
+     */
+    public static void setActiveLocale(String locale) {
+        activeLocale = locale;
+        memo = new Memo(locale, LOCALES.getOrDefault(locale, Map.of()), null);
+    }
+
+    public static String getActiveLocale() {
+        return activeLocale;
+    }
+
+    /**
+     * Number of translations loaded for a locale
+     */
+    public static int size(String locale) {
+        return LOCALES.getOrDefault(locale, Map.of()).size();
+    }
+
+    /**
+     * Loads the mod's bundled English translations if no translations were loaded for it yet
+     */
+    public static void loadBundledDefaults() {
+        if (LOCALES.containsKey(DEFAULT_LOCALE)) {
+            return;
+        }
+        String path = "/assets/eidolonunchained/lang/" + DEFAULT_LOCALE + ".json";
+        try (InputStream langStream = TranslationResolver.class.getResourceAsStream(path)) {
+            if (langStream == null) {
+                LOGGER.warn("Could not find language file: {}", path);
+                return;
+            }
+            JsonObject langJson = JsonParser.parseReader(new InputStreamReader(langStream, StandardCharsets.UTF_8)).getAsJsonObject();
+            Map<String, String> translations = new HashMap<>();
+            for (Map.Entry<String, JsonElement> entry : langJson.entrySet()) {
+                translations.put(entry.getKey(), entry.getValue().getAsString());
+            }
+            setTranslations(DEFAULT_LOCALE, translations);
+            LOGGER.info("Loaded {} translation keys from language file", translations.size());
+        } catch (Exception e) {
+            LOGGER.warn("Failed to load translations from file: {}", e.getMessage());
+        }
+    }
+
+    private static Memo currentMemo() {
+        Memo current = memo;
+        // The game's Language is replaced whenever resources reload or the player changes language
+        Language language = Language.getInstance();
+        if (current.language() != language) {
+            current = new Memo(current.locale(), current.translations(), language);
+            memo = current;
+        }
+        return current;
+    }
+
+    private static String lookup(Memo current, String key) {
+        String translation = current.translations().get(key);
+        if (translation != null) {
+            return translation;
+        }
+        if (current.language().has(key)) {
+            return current.language().getOrDefault(key);
+        }
+        if (!isTranslationKey(key)) {
+            return key;
+        }
+        String fallback = createFallbackFromKey(key);
+        LOGGER.debug("No translation found for key: {}, using '{}'", key, fallback);
+        return fallback;
+    }
+
+    /**
+     * Creates a human-readable fallback from a translation key: "a.b.crystal_rituals" becomes "Crystal Rituals"
+     */
+    static String createFallbackFromKey(String key) {
+        int start = key.lastIndexOf('.') + 1;
+        if (start >= key.length()) {
+            return key;
+        }
+        StringBuilder titleCase = new StringBuilder(key.length() - start);
+        boolean wordStart = true;
+        for (int i = start; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c == '_') {
+                wordStart = true;
+                continue;
+            }
+            if (wordStart && titleCase.length() > 0) {
+                titleCase.append(' ');
+            }
+            titleCase.append(wordStart ? Character.toUpperCase(c) : Character.toLowerCase(c));
+            wordStart = false;
+        }
+        return titleCase.length() > 0 ? titleCase.toString() : key;
+    }
+}
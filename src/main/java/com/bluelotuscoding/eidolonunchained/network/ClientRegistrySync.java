@@ -0,0 +1,186 @@
+package com.bluelotuscoding.eidolonunchained.network;
+
+import com.bluelotuscoding.eidolonunchained.EidolonUnchained;
+import com.bluelotuscoding.eidolonunchained.data.CodexDataManager;
+import com.bluelotuscoding.eidolonunchained.data.CodexSnapshot;
+import com.bluelotuscoding.eidolonunchained.data.ResearchDataManager;
+import com.bluelotuscoding.eidolonunchained.data.ResearchSnapshot;
+import com.bluelotuscoding.eidolonunchained.integration.EidolonCodexIntegration;
+import com.bluelotuscoding.eidolonunchained.integration.TranslationReloadListener;
+import com.bluelotuscoding.eidolonunchained.network.RegistrySyncCodec.SyncedCodexEntry;
+import com.bluelotuscoding.eidolonunchained.network.RegistrySyncPacket.Change;
+import com.bluelotuscoding.eidolonunchained.research.ResearchChapter;
+import com.bluelotuscoding.eidolonunchained.research.ResearchEntry;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.mojang.logging.LogUtils;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.client.event.ClientPlayerNetworkEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Client side of {@link RegistrySync}: keeps the objects received from the server, applies deltas to them
+ * and publishes the result as the client's codex and research snapshots. Only used on the client main thread.
+ */
+@Mod.EventBusSubscriber(modid = EidolonUnchained.MODID, bus = Mod.EventBusSubscriber.Bus.FORGE, value = Dist.CLIENT)
+public final class ClientRegistrySync {
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    private static final Map<ResourceLocation, SyncedCodexEntry> CODEX_ENTRIES = new LinkedHashMap<>();
+    private static final Map<ResourceLocation, HashCode> CODEX_HASHES = new HashMap<>();
+    private static final Map<ResourceLocation, ResearchChapter> RESEARCH_CHAPTERS = new LinkedHashMap<>();
+    private static final Map<ResourceLocation, ResearchEntry> RESEARCH_ENTRIES = new LinkedHashMap<>();
+
+    // Sync generation of the objects above, -1 before the first sync from this server
+    private static long generation = -1;
+    private static long skippedGeneration = -1;
+    private static Pending pending;
+
+    private ClientRegistrySync() {}
+
+    /**
+     * Packets of a sync that hasn't received its last part yet
+     */
+    private record Pending(long generation, boolean full, List<Change> changes) {}
+
+    static void handle(RegistrySyncPacket packet) {
+        if (!packet.full() && packet.generation() == skippedGeneration) {
+            return;
+        }
+        if (pending == null || pending.generation() != packet.generation() || pending.full() != packet.full()) {
+            if (!packet.full() && packet.baseGeneration() != generation) {
+                // Missed an update; this delta can't be applied, so ask for everything instead
+                LOGGER.warn("Registry sync delta is based on generation {} but this client has {}, requesting a full sync",
+                        packet.baseGeneration(), generation);
+                skippedGeneration = packet.generation();
+                pending = null;
+                EidolonUnchainedNetwork.CHANNEL.sendToServer(new RequestRegistrySyncPacket());
+                return;
+            }
+            pending = new Pending(packet.generation(), packet.full(), new ArrayList<>());
+        }
+        pending.changes().addAll(packet.changes());
+        if (packet.last()) {
+            Pending complete = pending;
+            pending = null;
+            apply(complete);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLoggingOut(ClientPlayerNetworkEvent.LoggingOut event) {
+        pending = null;
+        skippedGeneration = -1;
+        if (generation == -1) {
+            return;
+        }
+        // Drop the server's entries so they don't stay in the codex after leaving
+        apply(new Pending(-1, true, List.of()));
+        generation = -1;
+    }
+
+    private static void apply(Pending sync) {
+        Set<ResourceLocation> added = new LinkedHashSet<>();
+        Set<ResourceLocation> changed = new LinkedHashSet<>();
+        Set<ResourceLocation> removed = new LinkedHashSet<>();
+        Set<ResourceLocation> affectedChapters = new LinkedHashSet<>();
+
+        // A full sync is compared against what we had, then anything it didn't contain is removed
+        Map<ResourceLocation, SyncedCodexEntry> previousCodex = Map.of();
+        Map<ResourceLocation, HashCode> previousHashes = CODEX_HASHES;
+        if (sync.full()) {
+            previousCodex = new LinkedHashMap<>(CODEX_ENTRIES);
+            previousHashes = new HashMap<>(CODEX_HASHES);
+            CODEX_ENTRIES.clear();
+            CODEX_HASHES.clear();
+            RESEARCH_CHAPTERS.clear();
+            RESEARCH_ENTRIES.clear();
+        }
+
+        for (Change change : sync.changes()) {
+            try {
+                switch (change.kind()) {
+                    case CODEX_ENTRY -> {
+                        if (change.isRemoval()) {
+                            SyncedCodexEntry previous = CODEX_ENTRIES.remove(change.id());
+                            CODEX_HASHES.remove(change.id());
+                            if (previous != null) {
+                                removed.add(change.id());
+                                affectedChapters.add(previous.targetChapter());
+                            }
+                            continue;
+                        }
+                        SyncedCodexEntry entry = RegistrySyncCodec.decodeCodexEntry(change.data());
+                        HashCode hash = Hashing.murmur3_128().hashBytes(change.data());
+                        HashCode previousHash = previousHashes.get(change.id());
+                        SyncedCodexEntry previous = sync.full() ? previousCodex.get(change.id()) : CODEX_ENTRIES.get(change.id());
+                        CODEX_ENTRIES.put(change.id(), entry);
+                        CODEX_HASHES.put(change.id(), hash);
+                        if (previous == null) {
+                            added.add(change.id());
+                        } else if (!hash.equals(previousHash)) {
+                            changed.add(change.id());
+                            affectedChapters.add(previous.targetChapter());
+                        } else {
+                            continue;
+                        }
+                        affectedChapters.add(entry.targetChapter());
+                    }
+                    case RESEARCH_CHAPTER -> {
+                        if (change.isRemoval()) {
+                            RESEARCH_CHAPTERS.remove(change.id());
+                        } else {
+                            RESEARCH_CHAPTERS.put(change.id(), RegistrySyncCodec.decodeResearchChapter(change.data()));
+                        }
+                    }
+                    case RESEARCH_ENTRY -> {
+                        if (change.isRemoval()) {
+                            RESEARCH_ENTRIES.remove(change.id());
+                        } else {
+                            RESEARCH_ENTRIES.put(change.id(), RegistrySyncCodec.decodeResearchEntry(change.data()));
+                        }
+                    }
+                }
+            } catch (RuntimeException e) {
+                LOGGER.error("Couldn't read synced {} {}", change.kind(), change.id(), e);
+            }
+        }
+        for (Map.Entry<ResourceLocation, SyncedCodexEntry> previous : previousCodex.entrySet()) {
+            if (!CODEX_ENTRIES.containsKey(previous.getKey())) {
+                removed.add(previous.getKey());
+                affectedChapters.add(previous.getValue().targetChapter());
+            }
+        }
+        affectedChapters.remove(null);
+
+        CodexSnapshot.Builder codex = new CodexSnapshot.Builder();
+        CODEX_ENTRIES.forEach((id, entry) -> codex.add(entry.targetChapter(), entry.entry(), CODEX_HASHES.get(id)));
+        CodexDataManager.publishSynced(codex, added, changed, removed, affectedChapters);
+
+        ResearchSnapshot.Builder research = new ResearchSnapshot.Builder();
+        RESEARCH_CHAPTERS.forEach(research::chapter);
+        RESEARCH_ENTRIES.forEach((id, entry) -> {
+            research.entry(id, entry);
+            if (entry.getChapter() != null) {
+                research.extension(entry.getChapter(), entry);
+            }
+        });
+        ResearchDataManager.publishSynced(research);
+
+        generation = sync.generation();
+        // Synced entries can bring namespaces whose lang files weren't loaded; load them before the pages are built
+        TranslationReloadListener.refreshNamespaces();
+        EidolonCodexIntegration.attemptIntegrationIfNeeded();
+    }
+}
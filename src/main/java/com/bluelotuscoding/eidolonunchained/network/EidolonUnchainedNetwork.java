@@ -0,0 +1,44 @@
+package com.bluelotuscoding.eidolonunchained.network;
+
+import com.bluelotuscoding.eidolonunchained.EidolonUnchained;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.network.NetworkDirection;
+import net.minecraftforge.network.NetworkRegistry;
+import net.minecraftforge.network.simple.SimpleChannel;
+
+/**
+ * The mod's network channel. Bump {@link #PROTOCOL_VERSION} whenever a packet format changes.
+ */
+public final class EidolonUnchainedNetwork {
+    private static final String PROTOCOL_VERSION = "2";
+
+    public static final SimpleChannel CHANNEL = NetworkRegistry.newSimpleChannel(
+            new ResourceLocation(EidolonUnchained.MODID, "main"),
+            () -> PROTOCOL_VERSION, PROTOCOL_VERSION::equals, PROTOCOL_VERSION::equals);
+
+    private static boolean registered = false;
+
+    private EidolonUnchainedNetwork() {}
+
+    /**
+     * Registers all packets. Called during mod setup.
+     */
+    public static synchronized void register() {
+        if (registered) {
+            return;
+        }
+        registered = true;
+
+        int id = 0;
+        CHANNEL.messageBuilder(RegistrySyncPacket.class, id++, NetworkDirection.PLAY_TO_CLIENT)
+                .encoder(RegistrySyncPacket::encode)
+                .decoder(RegistrySyncPacket::decode)
+                .consumerMainThread(RegistrySyncPacket::handle)
+                .add();
+        CHANNEL.messageBuilder(RequestRegistrySyncPacket.class, id++, NetworkDirection.PLAY_TO_SERVER)
+                .encoder(RequestRegistrySyncPacket::encode)
+                .decoder(RequestRegistrySyncPacket::decode)
+                .consumerMainThread(RequestRegistrySyncPacket::handle)
+                .add();
+    }
+}
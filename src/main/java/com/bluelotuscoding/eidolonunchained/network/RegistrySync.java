@@ -0,0 +1,235 @@
+package com.bluelotuscoding.eidolonunchained.network;
+
+import com.bluelotuscoding.eidolonunchained.EidolonUnchained;
+import com.bluelotuscoding.eidolonunchained.codex.CodexEntry;
+import com.bluelotuscoding.eidolonunchained.data.CodexDataManager;
+import com.bluelotuscoding.eidolonunchained.data.CodexSnapshot;
+import com.bluelotuscoding.eidolonunchained.data.ResearchDataManager;
+import com.bluelotuscoding.eidolonunchained.data.ResearchSnapshot;
+import com.bluelotuscoding.eidolonunchained.network.RegistrySyncPacket.Change;
+import com.bluelotuscoding.eidolonunchained.network.RegistrySyncPacket.Kind;
+import com.mojang.logging.LogUtils;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.event.OnDatapackSyncEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.network.PacketDistributor;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Sends the server's codex and research registry to clients, so datapack content on a dedicated server
+ * reaches them. A joining player gets everything; after {@code /reload} players only get what changed.
+ * <p>
+ * Objects are encoded once per reload and compared by their bytes to find the changes. The host of a
+ * singleplayer world shares the server's registry and is never sent anything.
+ */
+@Mod.EventBusSubscriber(modid = EidolonUnchained.MODID, bus = Mod.EventBusSubscriber.Bus.FORGE)
+public final class RegistrySync {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    // Stay well under the 1 MiB limit of a clientbound custom payload
+    private static final int MAX_PACKET_BYTES = 512 * 1024;
+
+    // Only touched on the server thread
+    private static SyncTable table;
+    private static long nextGeneration = 1;
+    // Generation of the last full sync sent to each player
+    private static final Map<UUID, Long> FULL_SYNCS = new HashMap<>();
+
+    private RegistrySync() {}
+
+    /**
+     * Encoded registry objects of one sync generation, built from a codex and a research snapshot
+     */
+    private record SyncTable(long generation, long codexGeneration, long researchGeneration, Map<Kind, Map<ResourceLocation, byte[]>> objects) {
+        int size() {
+            return objects.values().stream().mapToInt(Map::size).sum();
+        }
+    }
+
+    @SubscribeEvent
+    public static void onDatapackSync(OnDatapackSyncEvent event) {
+        if (event.getPlayer() != null) {
+            // Joining player
+            sendFullSync(event.getPlayer());
+            return;
+        }
+
+        // After /reload
+        SyncTable previous = table;
+        SyncTable current = getTable();
+        if (previous == null || previous == current) {
+            return;
+        }
+        List<Change> changes = diff(previous, current);
+        int players = 0;
+        for (ServerPlayer player : event.getPlayerList().getPlayers()) {
+            if (needsSync(player)) {
+                send(player, previous.generation(), current, false, changes);
+                players++;
+            }
+        }
+        LOGGER.info("Synced {} registry changes (generation {} -> {}) to {} players",
+                changes.size(), previous.generation(), current.generation(), players);
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        FULL_SYNCS.remove(event.getEntity().getUUID());
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        table = null;
+        FULL_SYNCS.clear();
+    }
+
+    /**
+     * Sends the whole registry to a player
+     */
+    public static void sendFullSync(ServerPlayer player) {
+        if (!needsSync(player)) {
+            return;
+        }
+        SyncTable current = getTable();
+        List<Change> changes = new ArrayList<>(current.size());
+        current.objects().forEach((kind, objects) ->
+                objects.forEach((id, data) -> changes.add(new Change(kind, id, data))));
+        send(player, -1, current, true, changes);
+        FULL_SYNCS.put(player.getUUID(), current.generation());
+    }
+
+    /**
+     * Handles a client's request for a full sync. A client only needs one per generation, so a player who
+     * already got a full sync of the current generation is ignored; a client can't make the server re-send
+     * the whole registry at will.
+     */
+    static void requestFullSync(ServerPlayer player) {
+        if (!needsSync(player)) {
+            return;
+        }
+        Long last = FULL_SYNCS.get(player.getUUID());
+        if (last != null && last == getTable().generation()) {
+            LOGGER.debug("Ignoring repeated full registry sync request from {}", player.getGameProfile().getName());
+            return;
+        }
+        sendFullSync(player);
+    }
+
+    private static boolean needsSync(ServerPlayer player) {
+        return !player.server.isSingleplayerOwner(player.getGameProfile());
+    }
+
+    /**
+     * Gets the table for the current snapshots, encoding them if a reload published new ones
+     */
+    private static SyncTable getTable() {
+        CodexSnapshot codex = CodexDataManager.getSnapshot();
+        ResearchSnapshot research = ResearchDataManager.getSnapshot();
+        SyncTable current = table;
+        if (current != null && current.codexGeneration() == codex.getGeneration()
+                && current.researchGeneration() == research.getGeneration()) {
+            return current;
+        }
+
+        Map<Kind, Map<ResourceLocation, byte[]>> objects = new EnumMap<>(Kind.class);
+        Map<ResourceLocation, byte[]> codexEntries = new LinkedHashMap<>();
+        codex.getChapterExtensions().forEach((chapter, entries) -> {
+            for (CodexEntry entry : entries) {
+                encodeInto(codexEntries, Kind.CODEX_ENTRY, entry.getId(),
+                        () -> RegistrySyncCodec.encode(new RegistrySyncCodec.SyncedCodexEntry(chapter, entry)));
+            }
+        });
+        objects.put(Kind.CODEX_ENTRY, codexEntries);
+        Map<ResourceLocation, byte[]> chapters = new LinkedHashMap<>();
+        research.getChapters().forEach((id, chapter) ->
+                encodeInto(chapters, Kind.RESEARCH_CHAPTER, id, () -> RegistrySyncCodec.encode(chapter)));
+        objects.put(Kind.RESEARCH_CHAPTER, chapters);
+        Map<ResourceLocation, byte[]> entries = new LinkedHashMap<>();
+        research.getEntries().forEach((id, entry) ->
+                encodeInto(entries, Kind.RESEARCH_ENTRY, id, () -> RegistrySyncCodec.encode(entry)));
+        objects.put(Kind.RESEARCH_ENTRY, entries);
+
+        current = new SyncTable(nextGeneration++, codex.getGeneration(), research.getGeneration(), objects);
+        table = current;
+        return current;
+    }
+
+    /**
+     * Encodes one object into the table. An object that can't be encoded, or that wouldn't fit in a packet
+     * on its own, is left out with an error, so it can't break the sync of everything else.
+     */
+    private static void encodeInto(Map<ResourceLocation, byte[]> objects, Kind kind, ResourceLocation id, Supplier<byte[]> encoder) {
+        byte[] data;
+        try {
+            data = encoder.get();
+        } catch (RuntimeException e) {
+            LOGGER.error("Couldn't encode {} {} for registry sync; clients won't receive it", kind, id, e);
+            return;
+        }
+        if (new Change(kind, id, data).size() > MAX_PACKET_BYTES) {
+            LOGGER.error("{} {} is {} bytes when encoded, more than the {} a registry sync packet can hold; clients won't receive it",
+                    kind, id, data.length, MAX_PACKET_BYTES);
+            return;
+        }
+        objects.put(id, data);
+    }
+
+    /**
+     * Objects added or changed in {@code current}, followed by those removed since {@code previous}
+     */
+    private static List<Change> diff(SyncTable previous, SyncTable current) {
+        List<Change> changes = new ArrayList<>();
+        for (Kind kind : Kind.values()) {
+            Map<ResourceLocation, byte[]> before = previous.objects().get(kind);
+            Map<ResourceLocation, byte[]> after = current.objects().get(kind);
+            after.forEach((id, data) -> {
+                if (!Arrays.equals(before.get(id), data)) {
+                    changes.add(new Change(kind, id, data));
+                }
+            });
+            for (ResourceLocation id : before.keySet()) {
+                if (!after.containsKey(id)) {
+                    changes.add(new Change(kind, id, null));
+                }
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Sends changes to a player, split into packets of at most {@link #MAX_PACKET_BYTES}
+     */
+    private static void send(ServerPlayer player, long baseGeneration, SyncTable current, boolean full, List<Change> changes) {
+        PacketDistributor.PacketTarget target = PacketDistributor.PLAYER.with(() -> player);
+        List<Change> batch = new ArrayList<>();
+        int batchBytes = 0;
+        for (Change change : changes) {
+            if (change.size() > MAX_PACKET_BYTES) {
+                // getTable leaves such objects out; sending one would disconnect the player
+                LOGGER.error("Not syncing {} {}: {} bytes is more than a packet can hold", change.kind(), change.id(), change.size());
+                continue;
+            }
+            if (!batch.isEmpty() && batchBytes + change.size() > MAX_PACKET_BYTES) {
+                EidolonUnchainedNetwork.CHANNEL.send(target, new RegistrySyncPacket(baseGeneration, current.generation(), full, false, batch));
+                batch = new ArrayList<>();
+                batchBytes = 0;
+            }
+            batch.add(change);
+            batchBytes += change.size();
+        }
+        EidolonUnchainedNetwork.CHANNEL.send(target, new RegistrySyncPacket(baseGeneration, current.generation(), full, true, batch));
+    }
+}
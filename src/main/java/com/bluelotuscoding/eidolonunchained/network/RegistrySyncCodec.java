@@ -0,0 +1,198 @@
+package com.bluelotuscoding.eidolonunchained.network;
+
+import com.bluelotuscoding.eidolonunchained.codex.CodexEntry;
+import com.bluelotuscoding.eidolonunchained.codex.CodexPage;
+import com.bluelotuscoding.eidolonunchained.research.ResearchChapter;
+import com.bluelotuscoding.eidolonunchained.research.ResearchEntry;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.ItemStack;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Binary form of the synced registry objects. Every object is encoded once per reload on the server;
+ * the bytes are sent as they are and compared to find what changed between reloads.
+ */
+public final class RegistrySyncCodec {
+    // Page type tags; Custom pages carry their JSON
+    private static final byte TEXT = 0;
+    private static final byte TITLE = 1;
+    private static final byte ENTITY = 2;
+    private static final byte CRAFTING = 3;
+    private static final byte RITUAL = 4;
+    private static final byte CRUCIBLE = 5;
+    private static final byte CUSTOM = 6;
+
+    // Longest string in characters; FriendlyByteBuf allows three bytes per character on the wire
+    private static final int MAX_STRING = 262144;
+
+    private RegistrySyncCodec() {}
+
+    /**
+     * A codex entry with the chapter it extends
+     */
+    public record SyncedCodexEntry(ResourceLocation targetChapter, CodexEntry entry) {}
+
+    public static byte[] encode(SyncedCodexEntry synced) {
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        CodexEntry entry = synced.entry();
+        writeOptionalLocation(buf, synced.targetChapter());
+        buf.writeResourceLocation(entry.getId());
+        buf.writeComponent(entry.getTitle());
+        buf.writeComponent(entry.getDescription());
+        writeOptionalLocation(buf, entry.getTargetChapter());
+        buf.writeItem(entry.getIcon() != null ? entry.getIcon() : ItemStack.EMPTY);
+        buf.writeCollection(entry.getPrerequisites(), FriendlyByteBuf::writeResourceLocation);
+        buf.writeVarInt(entry.getPages().size());
+        for (CodexPage page : entry.getPages()) {
+            writePage(buf, page);
+        }
+        buf.writeEnum(entry.getType());
+        buf.writeUtf(entry.getAdditionalData().toString(), MAX_STRING);
+        buf.writeVarInt(entry.getSortOrder());
+        buf.writeVarInt(entry.getAnchorPage());
+        return toBytes(buf);
+    }
+
+    public static SyncedCodexEntry decodeCodexEntry(byte[] bytes) {
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.wrappedBuffer(bytes));
+        ResourceLocation targetChapter = readOptionalLocation(buf);
+        ResourceLocation id = buf.readResourceLocation();
+        Component title = buf.readComponent();
+        Component description = buf.readComponent();
+        ResourceLocation entryChapter = readOptionalLocation(buf);
+        ItemStack icon = buf.readItem();
+        List<ResourceLocation> prerequisites = buf.readList(FriendlyByteBuf::readResourceLocation);
+        int pageCount = buf.readVarInt();
+        List<CodexPage> pages = new ArrayList<>(pageCount);
+        for (int i = 0; i < pageCount; i++) {
+            pages.add(readPage(buf));
+        }
+        CodexEntry.EntryType type = buf.readEnum(CodexEntry.EntryType.class);
+        JsonObject additionalData = readJson(buf);
+        int sortOrder = buf.readVarInt();
+        int anchorPage = buf.readVarInt();
+        return new SyncedCodexEntry(targetChapter, new CodexEntry(id, title, description, entryChapter, icon,
+                prerequisites, pages, type, additionalData, sortOrder, anchorPage));
+    }
+
+    public static byte[] encode(ResearchChapter chapter) {
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        buf.writeResourceLocation(chapter.getId());
+        buf.writeComponent(chapter.getTitle());
+        buf.writeComponent(chapter.getDescription());
+        buf.writeItem(chapter.getIcon() != null ? chapter.getIcon() : ItemStack.EMPTY);
+        buf.writeVarInt(chapter.getSortOrder());
+        buf.writeBoolean(chapter.isSecret());
+        writeOptionalLocation(buf, chapter.getBackgroundTexture());
+        buf.writeUtf(chapter.getAdditionalData().toString(), MAX_STRING);
+        return toBytes(buf);
+    }
+
+    public static ResearchChapter decodeResearchChapter(byte[] bytes) {
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.wrappedBuffer(bytes));
+        return new ResearchChapter(buf.readResourceLocation(), buf.readComponent(), buf.readComponent(),
+                buf.readItem(), buf.readVarInt(), buf.readBoolean(), readOptionalLocation(buf), readJson(buf));
+    }
+
+    public static byte[] encode(ResearchEntry entry) {
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        buf.writeResourceLocation(entry.getId());
+        buf.writeComponent(entry.getTitle());
+        buf.writeComponent(entry.getDescription());
+        writeOptionalLocation(buf, entry.getChapter());
+        buf.writeItem(entry.getIcon() != null ? entry.getIcon() : ItemStack.EMPTY);
+        buf.writeCollection(entry.getPrerequisites(), FriendlyByteBuf::writeResourceLocation);
+        buf.writeCollection(entry.getUnlocks(), FriendlyByteBuf::writeResourceLocation);
+        buf.writeVarInt(entry.getX());
+        buf.writeVarInt(entry.getY());
+        buf.writeEnum(entry.getType());
+        buf.writeUtf(entry.getAdditionalData().toString(), MAX_STRING);
+        return toBytes(buf);
+    }
+
+    public static ResearchEntry decodeResearchEntry(byte[] bytes) {
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.wrappedBuffer(bytes));
+        return new ResearchEntry(buf.readResourceLocation(), buf.readComponent(), buf.readComponent(),
+                readOptionalLocation(buf), buf.readItem(),
+                buf.readList(FriendlyByteBuf::readResourceLocation), buf.readList(FriendlyByteBuf::readResourceLocation),
+                buf.readVarInt(), buf.readVarInt(), buf.readEnum(ResearchEntry.ResearchType.class), readJson(buf));
+    }
+
+    private static void writePage(FriendlyByteBuf buf, CodexPage page) {
+        if (page instanceof CodexPage.Text text) {
+            buf.writeByte(TEXT);
+            buf.writeUtf(text.text(), MAX_STRING);
+        } else if (page instanceof CodexPage.Title title) {
+            buf.writeByte(TITLE);
+            buf.writeUtf(title.text(), MAX_STRING);
+        } else if (page instanceof CodexPage.Entity entity) {
+            buf.writeByte(ENTITY);
+            writeOptionalLocation(buf, entity.entity());
+            writeOptionalString(buf, entity.text());
+        } else if (page instanceof CodexPage.Crafting crafting) {
+            buf.writeByte(CRAFTING);
+            writeOptionalLocation(buf, crafting.item());
+            writeOptionalString(buf, crafting.text());
+        } else if (page instanceof CodexPage.Ritual ritual) {
+            buf.writeByte(RITUAL);
+            writeOptionalLocation(buf, ritual.ritual());
+            writeOptionalString(buf, ritual.text());
+        } else if (page instanceof CodexPage.Crucible crucible) {
+            buf.writeByte(CRUCIBLE);
+            writeOptionalLocation(buf, crucible.recipe());
+            writeOptionalString(buf, crucible.text());
+        } else {
+            buf.writeByte(CUSTOM);
+            buf.writeUtf(page.toJson().toString(), MAX_STRING);
+        }
+    }
+
+    private static CodexPage readPage(FriendlyByteBuf buf) {
+        byte tag = buf.readByte();
+        return switch (tag) {
+            case TEXT -> new CodexPage.Text(buf.readUtf(MAX_STRING));
+            case TITLE -> new CodexPage.Title(buf.readUtf(MAX_STRING));
+            case ENTITY -> new CodexPage.Entity(readOptionalLocation(buf), readOptionalString(buf));
+            case CRAFTING -> new CodexPage.Crafting(readOptionalLocation(buf), readOptionalString(buf));
+            case RITUAL -> new CodexPage.Ritual(readOptionalLocation(buf), readOptionalString(buf));
+            case CRUCIBLE -> new CodexPage.Crucible(readOptionalLocation(buf), readOptionalString(buf));
+            case CUSTOM -> CodexPage.fromJson(readJson(buf));
+            default -> throw new IllegalStateException("Unknown synced page type " + tag);
+        };
+    }
+
+    private static void writeOptionalLocation(FriendlyByteBuf buf, ResourceLocation location) {
+        buf.writeOptional(Optional.ofNullable(location), FriendlyByteBuf::writeResourceLocation);
+    }
+
+    private static ResourceLocation readOptionalLocation(FriendlyByteBuf buf) {
+        return buf.readOptional(FriendlyByteBuf::readResourceLocation).orElse(null);
+    }
+
+    private static void writeOptionalString(FriendlyByteBuf buf, String value) {
+        buf.writeOptional(Optional.ofNullable(value), (b, s) -> b.writeUtf(s, MAX_STRING));
+    }
+
+    private static String readOptionalString(FriendlyByteBuf buf) {
+        return buf.readOptional(b -> b.readUtf(MAX_STRING)).orElse(null);
+    }
+
+    private static JsonObject readJson(FriendlyByteBuf buf) {
+        return JsonParser.parseString(buf.readUtf(MAX_STRING)).getAsJsonObject();
+    }
+
+    private static byte[] toBytes(FriendlyByteBuf buf) {
+        byte[] bytes = new byte[buf.readableBytes()];
+        buf.readBytes(bytes);
+        buf.release();
+        return bytes;
+    }
+}
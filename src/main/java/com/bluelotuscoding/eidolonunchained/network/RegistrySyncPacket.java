@@ -0,0 +1,72 @@
+package com.bluelotuscoding.eidolonunchained.network;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.fml.DistExecutor;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * One part of a registry sync from the server. A sync moves the client from {@code baseGeneration}
+ * to {@code generation}; a full sync replaces everything instead. Large syncs are split over several
+ * packets and applied when the one marked {@code last} arrives.
+ */
+public record RegistrySyncPacket(long baseGeneration, long generation, boolean full, boolean last, List<Change> changes) {
+
+    public enum Kind {
+        CODEX_ENTRY,
+        RESEARCH_CHAPTER,
+        RESEARCH_ENTRY
+    }
+
+    /**
+     * An added or changed object with its encoded form, or a removal when {@code data} is null
+     */
+    public record Change(Kind kind, ResourceLocation id, byte[] data) {
+        public boolean isRemoval() {
+            return data == null;
+        }
+
+        /**
+         * Rough encoded size, used to split syncs into packets
+         */
+        int size() {
+            return id.toString().length() + (data != null ? data.length : 0) + 8;
+        }
+    }
+
+    public void encode(FriendlyByteBuf buf) {
+        buf.writeVarLong(baseGeneration);
+        buf.writeVarLong(generation);
+        buf.writeBoolean(full);
+        buf.writeBoolean(last);
+        buf.writeCollection(changes, (b, change) -> {
+            b.writeEnum(change.kind());
+            b.writeResourceLocation(change.id());
+            b.writeBoolean(change.data() != null);
+            if (change.data() != null) {
+                b.writeByteArray(change.data());
+            }
+        });
+    }
+
+    public static RegistrySyncPacket decode(FriendlyByteBuf buf) {
+        long baseGeneration = buf.readVarLong();
+        long generation = buf.readVarLong();
+        boolean full = buf.readBoolean();
+        boolean last = buf.readBoolean();
+        List<Change> changes = buf.readList(b -> new Change(b.readEnum(Kind.class), b.readResourceLocation(),
+                b.readBoolean() ? b.readByteArray() : null));
+        return new RegistrySyncPacket(baseGeneration, generation, full, last, changes);
+    }
+
+    /**
+     * Runs on the client main thread
+     */
+    public void handle(Supplier<NetworkEvent.Context> context) {
+        DistExecutor.unsafeRunWhenOn(Dist.CLIENT, () -> () -> ClientRegistrySync.handle(this));
+    }
+}
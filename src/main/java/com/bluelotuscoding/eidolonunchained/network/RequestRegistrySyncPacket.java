@@ -0,0 +1,31 @@
+package com.bluelotuscoding.eidolonunchained.network;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.function.Supplier;
+
+/**
+ * Sent by a client that received a delta it can't apply, asking for a full registry sync.
+ * Honored at most once per sync generation, see {@link RegistrySync#requestFullSync}.
+ */
+public record RequestRegistrySyncPacket() {
+
+    public void encode(FriendlyByteBuf buf) {
+    }
+
+    public static RequestRegistrySyncPacket decode(FriendlyByteBuf buf) {
+        return new RequestRegistrySyncPacket();
+    }
+
+    /**
+     * Runs on the server thread
+     */
+    public void handle(Supplier<NetworkEvent.Context> context) {
+        ServerPlayer player = context.get().getSender();
+        if (player != null) {
+            RegistrySync.requestFullSync(player);
+        }
+    }
+}
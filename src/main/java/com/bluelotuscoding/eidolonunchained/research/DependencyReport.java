@@ -0,0 +1,74 @@
+package com.bluelotuscoding.eidolonunchained.research;
+
+import net.minecraft.resources.ResourceLocation;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Problems found in a {@link ResearchGraph} after loading: dependency cycles, references to ids that
+ * don't exist, and how deep the longest prerequisite chain goes. Checking is linear in the size of the graph.
+ *
+ * @param cycles            entries that depend on each other, one list per cycle
+ * @param unknownReferences ids that were referenced but don't exist, with the entries referencing them
+ * @param maxDepth          length of the longest prerequisite chain
+ */
+public record DependencyReport(List<List<ResourceLocation>> cycles,
+                               Map<ResourceLocation, List<ResourceLocation>> unknownReferences, int maxDepth) {
+
+    /**
+     * Validates a graph. Ids outside the graph count as unknown unless {@code isKnownExternal} accepts them.
+     */
+    public static DependencyReport of(ResearchGraph graph, Predicate<ResourceLocation> isKnownExternal) {
+        List<List<ResourceLocation>> cycles = new ArrayList<>();
+        for (int[] component : graph.findCycles()) {
+            List<ResourceLocation> cycle = new ArrayList<>(component.length);
+            for (int node : component) {
+                cycle.add(graph.idOf(node));
+            }
+            cycles.add(List.copyOf(cycle));
+        }
+
+        Map<ResourceLocation, List<ResourceLocation>> unknown = new LinkedHashMap<>();
+        int maxDepth = 0;
+        for (int node = 0; node < graph.size(); node++) {
+            maxDepth = Math.max(maxDepth, graph.getDepth(node));
+            if (!graph.isExternal(node) || isKnownExternal.test(graph.idOf(node))) {
+                continue;
+            }
+            // Entries that list it as a prerequisite, and entries that list it in "unlocks"
+            Set<ResourceLocation> referrers = new LinkedHashSet<>();
+            graph.forEachUnlock(node, n -> referrers.add(graph.idOf(n)));
+            graph.forEachPrerequisite(node, n -> referrers.add(graph.idOf(n)));
+            unknown.put(graph.idOf(node), List.copyOf(referrers));
+        }
+        return new DependencyReport(List.copyOf(cycles), unknown, maxDepth);
+    }
+
+    public boolean hasProblems() {
+        return !cycles.isEmpty() || !unknownReferences.isEmpty();
+    }
+
+    /**
+     * Logs every problem; {@code kind} names the entries in the messages, e.g. "research"
+     */
+    public void log(Logger logger, String kind) {
+        for (List<ResourceLocation> cycle : cycles) {
+            logger.error("Dependency cycle between {} entries {} - none of them can ever be unlocked", kind, cycle);
+        }
+        unknownReferences.forEach((id, referrers) ->
+                logger.warn("Unknown {} entry {} referenced by {}", kind, id, referrers));
+        if (hasProblems()) {
+            logger.warn("Validated {} dependencies: {} cycles, {} unknown references, longest chain {}",
+                    kind, cycles.size(), unknownReferences.size(), maxDepth);
+        } else {
+            logger.debug("Validated {} dependencies: no problems, longest chain {}", kind, maxDepth);
+        }
+    }
+}
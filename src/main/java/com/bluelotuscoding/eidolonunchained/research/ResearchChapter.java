@@ -1,5 +1,6 @@
 package com.bluelotuscoding.eidolonunchained.research;
 
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.network.chat.Component;
@@ -130,6 +131,11 @@ public class ResearchChapter {
             return this;
         }
 
+        public Builder additionalData(String key, JsonElement value) {
+            this.additionalData.add(key, value);
+            return this;
+        }
+
         public ResearchChapter build() {
             return new ResearchChapter(id, title, description, icon, sortOrder, 
                                      isSecret, backgroundTexture, additionalData);
@@ -1,6 +1,7 @@
 package com.bluelotuscoding.eidolonunchained.research;
 
 import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.network.chat.Component;
@@ -83,7 +84,9 @@ public class ResearchEntry {
         json.addProperty("id", id.toString());
         json.addProperty("title", title.getString());
         json.addProperty("description", description.getString());
-        json.addProperty("chapter", chapter.toString());
+        if (chapter != null) {
+            json.addProperty("chapter", chapter.toString());
+        }
         json.addProperty("type", type.getName());
         json.addProperty("x", x);
         json.addProperty("y", y);
@@ -187,6 +190,11 @@ public class ResearchEntry {
             return this;
         }
 
+        public Builder additionalData(String key, JsonElement value) {
+            this.additionalData.add(key, value);
+            return this;
+        }
+
         public ResearchEntry build() {
             return new ResearchEntry(id, title, description, chapter, icon, 
                                    prerequisites, unlocks, x, y, type, additionalData);
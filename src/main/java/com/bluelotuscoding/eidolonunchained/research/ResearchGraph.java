@@ -0,0 +1,358 @@
+package com.bluelotuscoding.eidolonunchained.research;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Compiled dependency graph of the loaded research (or codex) entries.
+ * Every research id gets an integer node; prerequisites and unlocks are stored as adjacency arrays,
+ * so checking whether an entry can be unlocked, or what a completed entry makes available, only looks
+ * at that entry's own edges.
+ * <p>
+ * Prerequisites that are not datapack entries (Eidolon's own research, for example) are included as
+ * external nodes so they can still be checked against a player's progress.
+ */
+public final class ResearchGraph {
+    public static final ResearchGraph EMPTY = build(List.of());
+
+    private final ResourceLocation[] ids;
+    private final Object2IntMap<ResourceLocation> index;
+    private final int entryCount;
+    // Edges in compressed form: the prerequisites of node n are prereqs[prereqStart[n] .. prereqStart[n + 1])
+    private final int[] prereqStart;
+    private final int[] prereqs;
+    private final int[] unlockStart;
+    private final int[] unlocks;
+    private final int[] topologicalOrder;
+    // Longest prerequisite chain below each node; -1 on or behind a cycle
+    private final int[] depths;
+
+    private ResearchGraph(ResourceLocation[] ids, Object2IntMap<ResourceLocation> index, int entryCount,
+                          int[] prereqStart, int[] prereqs, int[] unlockStart, int[] unlocks,
+                          int[] topologicalOrder, int[] depths) {
+        this.ids = ids;
+        this.index = index;
+        this.entryCount = entryCount;
+        this.prereqStart = prereqStart;
+        this.prereqs = prereqs;
+        this.unlockStart = unlockStart;
+        this.unlocks = unlocks;
+        this.topologicalOrder = topologicalOrder;
+        this.depths = depths;
+    }
+
+    /**
+     * Builds the graph from research entries. An entry's prerequisites and the entries listed in
+     * other entries' "unlocks" both become edges from the prerequisite to the entry.
+     */
+    public static ResearchGraph build(Collection<ResearchEntry> entries) {
+        return build(entries, ResearchEntry::getId, ResearchEntry::getPrerequisites, ResearchEntry::getUnlocks);
+    }
+
+    /**
+     * Builds the graph from any kind of entry with an id, prerequisites and unlocks
+     */
+    public static <T> ResearchGraph build(Collection<T> entries, Function<T, ResourceLocation> idOf,
+                                          Function<T, List<ResourceLocation>> prerequisitesOf,
+                                          Function<T, List<ResourceLocation>> unlocksOf) {
+        Object2IntOpenHashMap<ResourceLocation> index = new Object2IntOpenHashMap<>();
+        index.defaultReturnValue(-1);
+        List<ResourceLocation> ids = new ArrayList<>();
+
+        // Entries first, so nodes [0, entryCount) are datapack entries and the rest are external
+        for (T entry : entries) {
+            ResourceLocation id = idOf.apply(entry);
+            if (index.putIfAbsent(id, ids.size()) == -1) {
+                ids.add(id);
+            }
+        }
+        int entryCount = ids.size();
+
+        IntArrayList from = new IntArrayList();
+        IntArrayList to = new IntArrayList();
+        for (T entry : entries) {
+            int node = index.getInt(idOf.apply(entry));
+            for (ResourceLocation prerequisite : prerequisitesOf.apply(entry)) {
+                from.add(nodeFor(prerequisite, index, ids));
+                to.add(node);
+            }
+            for (ResourceLocation unlock : unlocksOf.apply(entry)) {
+                from.add(node);
+                to.add(nodeFor(unlock, index, ids));
+            }
+        }
+
+        int nodes = ids.size();
+        int[] prereqStart = new int[nodes + 1];
+        int[] unlockStart = new int[nodes + 1];
+        int[] prereqs = new int[from.size()];
+        int[] unlocks = new int[from.size()];
+        compress(to, from, prereqStart, prereqs);
+        compress(from, to, unlockStart, unlocks);
+
+        int[] depths = new int[nodes];
+        int[] order = sortTopologically(nodes, prereqStart, unlockStart, unlocks, depths);
+        return new ResearchGraph(ids.toArray(new ResourceLocation[0]), index, entryCount,
+                prereqStart, prereqs, unlockStart, unlocks, order, depths);
+    }
+
+    private static int nodeFor(ResourceLocation id, Object2IntOpenHashMap<ResourceLocation> index, List<ResourceLocation> ids) {
+        int node = index.getInt(id);
+        if (node == -1) {
+            node = ids.size();
+            index.put(id, node);
+            ids.add(id);
+        }
+        return node;
+    }
+
+    /**
+     * Groups edges by their key node into start/target arrays
+     */
+    private static void compress(IntArrayList keys, IntArrayList values, int[] start, int[] targets) {
+        int[] counts = new int[start.length];
+        for (int i = 0; i < keys.size(); i++) {
+            counts[keys.getInt(i) + 1]++;
+        }
+        for (int n = 1; n < start.length; n++) {
+            start[n] = start[n - 1] + counts[n];
+        }
+        int[] fill = new int[start.length - 1];
+        for (int i = 0; i < keys.size(); i++) {
+            int key = keys.getInt(i);
+            targets[start[key] + fill[key]++] = values.getInt(i);
+        }
+    }
+
+    /**
+     * Kahn's algorithm, filling in each node's depth on the way. Nodes on a cycle, and everything
+     * that depends on one, never reach in-degree zero and are left out of the order.
+     */
+    private static int[] sortTopologically(int nodes, int[] prereqStart, int[] unlockStart, int[] unlocks, int[] depths) {
+        Arrays.fill(depths, -1);
+        int[] inDegree = new int[nodes];
+        for (int n = 0; n < nodes; n++) {
+            inDegree[n] = prereqStart[n + 1] - prereqStart[n];
+        }
+        int[] order = new int[nodes];
+        int head = 0;
+        int tail = 0;
+        for (int n = 0; n < nodes; n++) {
+            if (inDegree[n] == 0) {
+                order[tail++] = n;
+                depths[n] = 0;
+            }
+        }
+        while (head < tail) {
+            int node = order[head++];
+            for (int i = unlockStart[node]; i < unlockStart[node + 1]; i++) {
+                int next = unlocks[i];
+                depths[next] = Math.max(depths[next], depths[node] + 1);
+                if (--inDegree[next] == 0) {
+                    order[tail++] = next;
+                }
+            }
+        }
+        return tail == nodes ? order : Arrays.copyOf(order, tail);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Gets the node of a research id, or -1 if the id is not part of the graph
+     */
+    public int indexOf(ResourceLocation id) {
+        return index.getOrDefault(id, -1);
+    }
+
+    public ResourceLocation idOf(int node) {
+        return ids[node];
+    }
+
+    /**
+     * Whether a node is a prerequisite that isn't itself a datapack research entry
+     */
+    public boolean isExternal(int node) {
+        return node >= entryCount;
+    }
+
+    public int prerequisiteCount(int node) {
+        return prereqStart[node + 1] - prereqStart[node];
+    }
+
+    public void forEachPrerequisite(int node, IntConsumer action) {
+        for (int i = prereqStart[node]; i < prereqStart[node + 1]; i++) {
+            action.accept(prereqs[i]);
+        }
+    }
+
+    public void forEachUnlock(int node, IntConsumer action) {
+        for (int i = unlockStart[node]; i < unlockStart[node + 1]; i++) {
+            action.accept(unlocks[i]);
+        }
+    }
+
+    /**
+     * Whether every prerequisite of a node is completed
+     */
+    public boolean canUnlock(int node, IntPredicate completed) {
+        for (int i = prereqStart[node]; i < prereqStart[node + 1]; i++) {
+            if (!completed.test(prereqs[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether every prerequisite of a research entry is completed. Ids outside the graph have none.
+     */
+    public boolean canUnlock(ResourceLocation id, Predicate<ResourceLocation> completed) {
+        int node = indexOf(id);
+        return node < 0 || canUnlock(node, n -> completed.test(ids[n]));
+    }
+
+    /**
+     * Calls {@code action} for every node that becomes unlockable once {@code completedNode} is completed,
+     * i.e. its direct unlocks that are not completed yet and have all their other prerequisites done
+     */
+    public void forEachNewlyAvailable(int completedNode, IntPredicate completed, IntConsumer action) {
+        IntPredicate withNode = n -> n == completedNode || completed.test(n);
+        for (int i = unlockStart[completedNode]; i < unlockStart[completedNode + 1]; i++) {
+            int next = unlocks[i];
+            if (!withNode.test(next) && canUnlock(next, withNode)) {
+                action.accept(next);
+            }
+        }
+    }
+
+    /**
+     * Research ids that become unlockable once {@code completedId} is completed
+     */
+    public List<ResourceLocation> getNewlyAvailable(ResourceLocation completedId, Predicate<ResourceLocation> completed) {
+        int node = indexOf(completedId);
+        if (node < 0) {
+            return List.of();
+        }
+        List<ResourceLocation> available = new ArrayList<>();
+        forEachNewlyAvailable(node, n -> completed.test(ids[n]), n -> available.add(ids[n]));
+        return available;
+    }
+
+    /**
+     * Nodes ordered so every prerequisite comes before the research that needs it.
+     * Nodes that are part of a dependency cycle are missing from the order.
+     */
+    public int[] getTopologicalOrder() {
+        return topologicalOrder.clone();
+    }
+
+    /**
+     * Whether some research depends on itself, directly or through other entries
+     */
+    public boolean hasCycles() {
+        return topologicalOrder.length < ids.length;
+    }
+
+    /**
+     * Length of the longest prerequisite chain leading to a node: 0 for nodes without prerequisites,
+     * -1 for nodes on a cycle or depending on one
+     */
+    public int getDepth(int node) {
+        return depths[node];
+    }
+
+    /**
+     * Finds every dependency cycle using Tarjan's strongly connected components, in time linear in the
+     * size of the graph. Each cycle is returned as the nodes of one component; a node that lists itself
+     * as a prerequisite is a cycle of one.
+     */
+    public List<int[]> findCycles() {
+        List<int[]> cycles = new ArrayList<>();
+        if (!hasCycles()) {
+            return cycles;
+        }
+        int nodes = ids.length;
+        int[] order = new int[nodes];
+        int[] lowLink = new int[nodes];
+        boolean[] onStack = new boolean[nodes];
+        int[] stack = new int[nodes];
+        int stackSize = 0;
+        // Explicit call stack: the node being visited and the next edge to follow from it
+        int[] callNode = new int[nodes];
+        int[] callEdge = new int[nodes];
+        int counter = 0;
+        Arrays.fill(order, -1);
+
+        for (int root = 0; root < nodes; root++) {
+            if (order[root] != -1) {
+                continue;
+            }
+            int depth = 0;
+            callNode[0] = root;
+            callEdge[0] = unlockStart[root];
+            order[root] = lowLink[root] = counter++;
+            stack[stackSize++] = root;
+            onStack[root] = true;
+
+            while (depth >= 0) {
+                int node = callNode[depth];
+                if (callEdge[depth] < unlockStart[node + 1]) {
+                    int next = unlocks[callEdge[depth]++];
+                    if (order[next] == -1) {
+                        order[next] = lowLink[next] = counter++;
+                        stack[stackSize++] = next;
+                        onStack[next] = true;
+                        depth++;
+                        callNode[depth] = next;
+                        callEdge[depth] = unlockStart[next];
+                    } else if (onStack[next]) {
+                        lowLink[node] = Math.min(lowLink[node], order[next]);
+                    }
+                    continue;
+                }
+
+                // All edges followed: pop the component if this node is its root
+                if (lowLink[node] == order[node]) {
+                    int start = stackSize;
+                    do {
+                        onStack[stack[--start]] = false;
+                    } while (stack[start] != node);
+                    int[] component = Arrays.copyOfRange(stack, start, stackSize);
+                    stackSize = start;
+                    if (component.length > 1 || hasEdge(node, node)) {
+                        cycles.add(component);
+                    }
+                }
+                depth--;
+                if (depth >= 0) {
+                    int parent = callNode[depth];
+                    lowLink[parent] = Math.min(lowLink[parent], lowLink[node]);
+                }
+            }
+        }
+        return cycles;
+    }
+
+    private boolean hasEdge(int from, int to) {
+        for (int i = unlockStart[from]; i < unlockStart[from + 1]; i++) {
+            if (unlocks[i] == to) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
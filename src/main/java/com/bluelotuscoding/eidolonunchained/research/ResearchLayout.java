@@ -0,0 +1,87 @@
+package com.bluelotuscoding.eidolonunchained.research;
+
+import com.bluelotuscoding.eidolonunchained.EidolonUnchained;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.StringTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.level.saveddata.SavedData;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * World-wide table that gives every research id a permanent bit index ("slot") in player progress.
+ * Slots are only ever appended, so saved progress stays valid when datapacks add, remove or reorder research.
+ * Only used on the server thread.
+ */
+public class ResearchLayout extends SavedData {
+    private static final String NAME = EidolonUnchained.MODID + "_research_layout";
+
+    private final List<ResourceLocation> ids = new ArrayList<>();
+    private final Object2IntOpenHashMap<ResourceLocation> slots = new Object2IntOpenHashMap<>();
+
+    public ResearchLayout() {
+        slots.defaultReturnValue(-1);
+    }
+
+    public static ResearchLayout get(MinecraftServer server) {
+        return server.overworld().getDataStorage().computeIfAbsent(ResearchLayout::load, ResearchLayout::new, NAME);
+    }
+
+    /**
+     * Gets the slot of a research id, assigning the next free one if it has none yet
+     */
+    public int slotOf(ResourceLocation id) {
+        int slot = slots.getInt(id);
+        if (slot == -1) {
+            slot = ids.size();
+            ids.add(id);
+            slots.put(id, slot);
+            setDirty();
+        }
+        return slot;
+    }
+
+    /**
+     * Gets the slot of a research id, or -1 if it has never been assigned one
+     */
+    public int find(ResourceLocation id) {
+        return slots.getInt(id);
+    }
+
+    public ResourceLocation idAt(int slot) {
+        return ids.get(slot);
+    }
+
+    public int size() {
+        return ids.size();
+    }
+
+    @Override
+    public CompoundTag save(CompoundTag tag) {
+        ListTag list = new ListTag();
+        for (ResourceLocation id : ids) {
+            list.add(StringTag.valueOf(id != null ? id.toString() : ""));
+        }
+        tag.put("ids", list);
+        return tag;
+    }
+
+    public static ResearchLayout load(CompoundTag tag) {
+        ResearchLayout layout = new ResearchLayout();
+        ListTag list = tag.getList("ids", Tag.TAG_STRING);
+        for (int i = 0; i < list.size(); i++) {
+            // Keep the slot even if the id is unreadable, so later slots don't shift
+            ResourceLocation id = ResourceLocation.tryParse(list.getString(i));
+            layout.ids.add(id);
+            if (id != null) {
+                layout.slots.put(id, i);
+            }
+        }
+        return layout;
+    }
+}
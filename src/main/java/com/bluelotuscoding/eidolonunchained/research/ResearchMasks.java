@@ -0,0 +1,119 @@
+package com.bluelotuscoding.eidolonunchained.research;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.Arrays;
+
+/**
+ * Prerequisite masks of a {@link ResearchGraph} laid out in {@link ResearchLayout} slots.
+ * Each node keeps only the non-zero 64-bit words of its mask, so checking its prerequisites against a
+ * player's {@link ResearchProgress} is one AND per word instead of one lookup per prerequisite.
+ * <p>
+ * Only datapack entries get layout slots. External prerequisites never do, so an unknown or mistyped id
+ * can't take a slot in the world's layout: Eidolon's own research (the "eidolon" namespace) is tracked by
+ * Eidolon and counts as met here, and any other external prerequisite can never be met.
+ */
+public final class ResearchMasks {
+    private final ResearchGraph graph;
+    private final ResearchLayout layout;
+    private final int[] slots;
+    // Nodes with a prerequisite that can never be met
+    private final boolean[] blocked;
+    // Mask words of node n are maskWords/maskBits[maskStart[n] .. maskStart[n + 1])
+    private final int[] maskStart;
+    private final int[] maskWords;
+    private final long[] maskBits;
+
+    private ResearchMasks(ResearchGraph graph, ResearchLayout layout, int[] slots, boolean[] blocked,
+                          int[] maskStart, int[] maskWords, long[] maskBits) {
+        this.graph = graph;
+        this.layout = layout;
+        this.slots = slots;
+        this.blocked = blocked;
+        this.maskStart = maskStart;
+        this.maskWords = maskWords;
+        this.maskBits = maskBits;
+    }
+
+    /**
+     * Computes the masks, assigning layout slots to any datapack entries that don't have one yet
+     */
+    public static ResearchMasks build(ResearchGraph graph, ResearchLayout layout) {
+        int nodes = graph.size();
+        int[] slots = new int[nodes];
+        for (int n = 0; n < nodes; n++) {
+            slots[n] = graph.isExternal(n) ? -1 : layout.slotOf(graph.idOf(n));
+        }
+        boolean[] blocked = new boolean[nodes];
+
+        int[] maskStart = new int[nodes + 1];
+        IntArrayList maskWords = new IntArrayList();
+        LongArrayList maskBits = new LongArrayList();
+        IntArrayList prerequisites = new IntArrayList();
+        for (int n = 0; n < nodes; n++) {
+            prerequisites.clear();
+            int node = n;
+            graph.forEachPrerequisite(n, p -> {
+                if (!graph.isExternal(p)) {
+                    prerequisites.add(slots[p]);
+                } else if (!isEidolonResearch(graph.idOf(p))) {
+                    blocked[node] = true;
+                }
+            });
+            int[] sorted = prerequisites.toIntArray();
+            Arrays.sort(sorted);
+            for (int slot : sorted) {
+                int word = slot >>> 6;
+                int last = maskWords.size() - 1;
+                if (last >= maskStart[n] && maskWords.getInt(last) == word) {
+                    maskBits.set(last, maskBits.getLong(last) | (1L << slot));
+                } else {
+                    maskWords.add(word);
+                    maskBits.add(1L << slot);
+                }
+            }
+            maskStart[n + 1] = maskWords.size();
+        }
+        return new ResearchMasks(graph, layout, slots, blocked, maskStart, maskWords.toIntArray(), maskBits.toLongArray());
+    }
+
+    private static boolean isEidolonResearch(ResourceLocation id) {
+        return "eidolon".equals(id.getNamespace());
+    }
+
+    public ResearchGraph getGraph() {
+        return graph;
+    }
+
+    public ResearchLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Gets a node's layout slot; -1 for external nodes, which have none
+     */
+    public int slotOf(int node) {
+        return slots[node];
+    }
+
+    public boolean isCompleted(int node, ResearchProgress progress) {
+        return progress.isCompleted(slots[node]);
+    }
+
+    /**
+     * Whether the player has completed every prerequisite of a node
+     */
+    public boolean prerequisitesMet(int node, ResearchProgress progress) {
+        if (blocked[node]) {
+            return false;
+        }
+        for (int i = maskStart[node]; i < maskStart[node + 1]; i++) {
+            if ((maskBits[i] & ~progress.word(maskWords[i])) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
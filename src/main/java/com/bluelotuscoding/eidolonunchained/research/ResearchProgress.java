@@ -0,0 +1,90 @@
+package com.bluelotuscoding.eidolonunchained.research;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraftforge.common.util.INBTSerializable;
+
+import java.util.Arrays;
+
+/**
+ * Completed research of one player, one bit per {@link ResearchLayout} slot.
+ * Saved as a single long array in the player's capability data.
+ */
+public class ResearchProgress implements INBTSerializable<CompoundTag> {
+    private static final long[] NONE = new long[0];
+
+    private long[] words = NONE;
+
+    public boolean isCompleted(int slot) {
+        int word = slot >>> 6;
+        return slot >= 0 && word < words.length && (words[word] & (1L << slot)) != 0;
+    }
+
+    /**
+     * Marks a slot as completed. Returns false if it already was.
+     */
+    public boolean complete(int slot) {
+        int word = slot >>> 6;
+        if (word >= words.length) {
+            words = Arrays.copyOf(words, word + 1);
+        }
+        long before = words[word];
+        words[word] = before | (1L << slot);
+        return words[word] != before;
+    }
+
+    /**
+     * Clears a slot. Returns false if it wasn't completed.
+     */
+    public boolean revoke(int slot) {
+        if (!isCompleted(slot)) {
+            return false;
+        }
+        words[slot >>> 6] &= ~(1L << slot);
+        return true;
+    }
+
+    /**
+     * Gets 64 slots starting at {@code index * 64}, zero past the end
+     */
+    public long word(int index) {
+        return index < words.length ? words[index] : 0L;
+    }
+
+    public int wordCount() {
+        return words.length;
+    }
+
+    public int count() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    public void copyFrom(ResearchProgress other) {
+        words = other.words.clone();
+    }
+
+    public void clear() {
+        words = NONE;
+    }
+
+    @Override
+    public CompoundTag serializeNBT() {
+        CompoundTag tag = new CompoundTag();
+        // Trailing empty words carry no information
+        int length = words.length;
+        while (length > 0 && words[length - 1] == 0) {
+            length--;
+        }
+        tag.putLongArray("completed", length == words.length ? words : Arrays.copyOf(words, length));
+        return tag;
+    }
+
+    @Override
+    public void deserializeNBT(CompoundTag tag) {
+        long[] saved = tag.getLongArray("completed");
+        words = saved.length == 0 ? NONE : saved;
+    }
+}
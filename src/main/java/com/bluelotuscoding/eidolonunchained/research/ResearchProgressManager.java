@@ -0,0 +1,181 @@
+package com.bluelotuscoding.eidolonunchained.research;
+
+import com.bluelotuscoding.eidolonunchained.EidolonUnchained;
+import com.bluelotuscoding.eidolonunchained.data.ResearchDataManager;
+import net.minecraft.core.Direction;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.player.Player;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.capabilities.CapabilityManager;
+import net.minecraftforge.common.capabilities.CapabilityToken;
+import net.minecraftforge.common.capabilities.ICapabilitySerializable;
+import net.minecraftforge.common.capabilities.RegisterCapabilitiesEvent;
+import net.minecraftforge.common.util.LazyOptional;
+import net.minecraftforge.event.AttachCapabilitiesEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-player research progress, stored as a {@link ResearchProgress} capability.
+ * {@link #isUnlocked} is a single bit test; prerequisite checks AND the player's bits against
+ * precomputed {@link ResearchMasks}, which are rebuilt when a reload publishes a new research graph.
+ */
+@Mod.EventBusSubscriber(modid = EidolonUnchained.MODID, bus = Mod.EventBusSubscriber.Bus.FORGE)
+public class ResearchProgressManager {
+    public static final Capability<ResearchProgress> RESEARCH_PROGRESS = CapabilityManager.get(new CapabilityToken<>() {});
+    private static final ResourceLocation CAPABILITY_ID = new ResourceLocation(EidolonUnchained.MODID, "research_progress");
+
+    private static volatile ResearchMasks masks;
+
+    @Mod.EventBusSubscriber(modid = EidolonUnchained.MODID, bus = Mod.EventBusSubscriber.Bus.MOD)
+    public static class Registration {
+        @SubscribeEvent
+        public static void onRegisterCapabilities(RegisterCapabilitiesEvent event) {
+            event.register(ResearchProgress.class);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onAttachCapabilities(AttachCapabilitiesEvent<Entity> event) {
+        if (event.getObject() instanceof Player) {
+            event.addCapability(CAPABILITY_ID, new Provider());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerClone(PlayerEvent.Clone event) {
+        // The old player's capabilities are invalidated before the event unless revived
+        event.getOriginal().reviveCaps();
+        ResearchProgress original = getProgress(event.getOriginal());
+        ResearchProgress current = getProgress(event.getEntity());
+        if (original != null && current != null) {
+            current.copyFrom(original);
+        }
+        event.getOriginal().invalidateCaps();
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        masks = null;
+    }
+
+    /**
+     * Gets a player's research progress, or null if the capability isn't attached
+     */
+    public static ResearchProgress getProgress(Player player) {
+        return player.getCapability(RESEARCH_PROGRESS).resolve().orElse(null);
+    }
+
+    /**
+     * Gets the prerequisite masks for the current research graph, rebuilding them after a reload
+     */
+    public static ResearchMasks getMasks(MinecraftServer server) {
+        ResearchGraph graph = ResearchDataManager.getSnapshot().getGraph();
+        ResearchLayout layout = ResearchLayout.get(server);
+        ResearchMasks current = masks;
+        if (current == null || current.getGraph() != graph || current.getLayout() != layout) {
+            current = ResearchMasks.build(graph, layout);
+            masks = current;
+        }
+        return current;
+    }
+
+    /**
+     * Whether a player has completed a research
+     */
+    public static boolean isUnlocked(ServerPlayer player, ResourceLocation research) {
+        ResearchProgress progress = getProgress(player);
+        return progress != null && progress.isCompleted(ResearchLayout.get(player.server).find(research));
+    }
+
+    /**
+     * Whether a player has completed every prerequisite of a research
+     */
+    public static boolean canUnlock(ServerPlayer player, ResourceLocation research) {
+        ResearchProgress progress = getProgress(player);
+        ResearchMasks masks = getMasks(player.server);
+        int node = masks.getGraph().indexOf(research);
+        return progress != null && (node < 0 || masks.prerequisitesMet(node, progress));
+    }
+
+    /**
+     * Marks a research as completed and returns the research that became available because of it.
+     * Only datapack entries of the current snapshot can be completed; any other id, including an external
+     * prerequisite, is ignored, so a typo or a removed datapack's id never takes a slot in the world's research layout.
+     */
+    public static List<ResourceLocation> complete(ServerPlayer player, ResourceLocation research) {
+        ResearchProgress progress = getProgress(player);
+        if (progress == null) {
+            return List.of();
+        }
+        ResearchMasks masks = getMasks(player.server);
+        ResearchGraph graph = masks.getGraph();
+        int node = graph.indexOf(research);
+        if (node < 0 || graph.isExternal(node) || !progress.complete(masks.slotOf(node))) {
+            return List.of();
+        }
+        List<ResourceLocation> available = new ArrayList<>();
+        graph.forEachUnlock(node, next -> {
+            if (!masks.isCompleted(next, progress) && masks.prerequisitesMet(next, progress)) {
+                available.add(graph.idOf(next));
+            }
+        });
+        return available;
+    }
+
+    /**
+     * Removes a completed research. Research that depended on it is not revoked.
+     */
+    public static boolean revoke(ServerPlayer player, ResourceLocation research) {
+        ResearchProgress progress = getProgress(player);
+        return progress != null && progress.revoke(ResearchLayout.get(player.server).find(research));
+    }
+
+    /**
+     * Every datapack research the player hasn't completed but has all prerequisites for
+     */
+    public static List<ResourceLocation> getAvailable(ServerPlayer player) {
+        ResearchProgress progress = getProgress(player);
+        if (progress == null) {
+            return List.of();
+        }
+        ResearchMasks masks = getMasks(player.server);
+        ResearchGraph graph = masks.getGraph();
+        List<ResourceLocation> available = new ArrayList<>();
+        for (int node = 0; node < graph.size() && !graph.isExternal(node); node++) {
+            if (!masks.isCompleted(node, progress) && masks.prerequisitesMet(node, progress)) {
+                available.add(graph.idOf(node));
+            }
+        }
+        return available;
+    }
+
+    private static class Provider implements ICapabilitySerializable<CompoundTag> {
+        private final ResearchProgress progress = new ResearchProgress();
+        private final LazyOptional<ResearchProgress> optional = LazyOptional.of(() -> progress);
+
+        @Override
+        public <T> LazyOptional<T> getCapability(Capability<T> capability, Direction side) {
+            return RESEARCH_PROGRESS.orEmpty(capability, optional);
+        }
+
+        @Override
+        public CompoundTag serializeNBT() {
+            return progress.serializeNBT();
+        }
+
+        @Override
+        public void deserializeNBT(CompoundTag tag) {
+            progress.deserializeNBT(tag);
+        }
+    }
+}